@@ -0,0 +1,154 @@
+package com.yourcompany.ems.benchmark;
+
+import com.yourcompany.ems.EMSApplication;
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.entity.User;
+import com.yourcompany.ems.repository.DepartmentRepository;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.LeaveRequestRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import com.yourcompany.ems.repository.RoleRepository;
+import com.yourcompany.ems.repository.UserRepository;
+import com.yourcompany.ems.service.DashboardCounterService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Boots the application once per fork against the in-memory H2 database of the "test" profile
+ * and seeds it with managers, employees, projects and leave requests.
+ * Benchmarks that need Spring beans take this state as a parameter of their @Setup method.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    // Employees per manager; every manager also owns one project with their whole team on it
+    private static final int TEAM_SIZE = 10;
+
+    @Param({"500"})
+    public int employees;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(EMSApplication.class)
+                .profiles("test")
+                // Passed as arguments so they take precedence over the profile's properties
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.yourcompany.ems=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        // Keep the scheduled reconciliation out of the measurements
+                        "--dashboard.counters.reconcile-interval-ms=86400000");
+        transactionTemplate = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        inTransaction(() -> {
+            seed();
+            return null;
+        });
+        // The counters were seeded from the empty database on startup
+        bean(DashboardCounterService.class).reconcile();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    private void seed() {
+        RoleRepository roleRepository = bean(RoleRepository.class);
+        UserRepository userRepository = bean(UserRepository.class);
+        EmployeeRepository employeeRepository = bean(EmployeeRepository.class);
+        ProjectRepository projectRepository = bean(ProjectRepository.class);
+        LeaveRequestRepository leaveRequestRepository = bean(LeaveRequestRepository.class);
+        List<Department> departments = bean(DepartmentRepository.class).findAll();
+
+        Role managerRole = roleRepository.findByName(Role.RoleType.ROLE_MANAGER).orElseThrow();
+        Role employeeRole = roleRepository.findByName(Role.RoleType.ROLE_EMPLOYEE).orElseThrow();
+        Project.ProjectStatus[] projectStatuses = Project.ProjectStatus.values();
+        LeaveRequest.LeaveStatus[] leaveStatuses = LeaveRequest.LeaveStatus.values();
+
+        int n = 0;
+        Employee manager = null;
+        Project project = null;
+        while (n < employees) {
+            n++;
+            Department department = departments.get(n % departments.size());
+            if (manager == null || n % (TEAM_SIZE + 1) == 1) {
+                manager = employeeRepository.save(employee(userRepository, managerRole, n, null, department));
+                project = new Project();
+                project.setName("Benchmark project " + n);
+                project.setDescription("Seeded for benchmarks");
+                project.setProjectCode(String.format("BPRJ%05d", n));
+                project.setStartDate(LocalDate.of(2024, 1, 1));
+                project.setStatus(projectStatuses[n % projectStatuses.length]);
+                project.setManager(manager);
+                project = projectRepository.save(project);
+                continue;
+            }
+            Employee employee = employee(userRepository, employeeRole, n, manager, department);
+            employee.getProjects().add(project);
+            employee = employeeRepository.save(employee);
+
+            LeaveRequest leaveRequest = new LeaveRequest();
+            leaveRequest.setEmployee(employee);
+            leaveRequest.setManager(manager);
+            leaveRequest.setLeaveType(LeaveRequest.LeaveType.PAID_LEAVE);
+            leaveRequest.setStartDate(LocalDate.of(2024, 6, 1).plusDays(n % 60));
+            leaveRequest.setEndDate(LocalDate.of(2024, 6, 3).plusDays(n % 60));
+            leaveRequest.setReason("Benchmark leave " + n);
+            leaveRequest.setStatus(leaveStatuses[n % leaveStatuses.length]);
+            leaveRequestRepository.save(leaveRequest);
+        }
+    }
+
+    private Employee employee(UserRepository userRepository, Role role, int n, Employee manager, Department department) {
+        User user = new User();
+        user.setUsername("bench" + n + "@worksphere.com");
+        user.setEmail(user.getUsername());
+        user.setPassword("benchmark");
+        user.getRoles().add(role);
+        user = userRepository.save(user);
+
+        Employee employee = new Employee();
+        employee.setUser(user);
+        employee.setEmployeeId(String.format("BEMP%05d", n));
+        employee.setFirstName("First" + n);
+        employee.setLastName("Last" + n);
+        employee.setEmail(user.getEmail());
+        employee.setContact("+1000" + n);
+        employee.setCity("Pune");
+        employee.setSkills("Java, Spring Boot, SQL");
+        employee.setDateOfJoining(LocalDate.of(2020, 1, 1).plusDays(n));
+        employee.setManager(manager);
+        employee.setDepartment(department);
+        return employee;
+    }
+}
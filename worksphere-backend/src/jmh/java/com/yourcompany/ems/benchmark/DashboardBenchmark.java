@@ -0,0 +1,49 @@
+package com.yourcompany.ems.benchmark;
+
+import com.yourcompany.ems.dto.DashboardStatsDto;
+import com.yourcompany.ems.service.DashboardCounterService;
+import com.yourcompany.ems.service.DashboardStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard statistics: the aggregate query used for reconciliation against the
+ * in-memory counters the dashboards read from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    private DashboardStatsService dashboardStatsService;
+    private DashboardCounterService dashboardCounterService;
+
+    @Setup
+    public void setUp(BenchmarkContext context) {
+        dashboardStatsService = context.bean(DashboardStatsService.class);
+        dashboardCounterService = context.bean(DashboardCounterService.class);
+    }
+
+    @Benchmark
+    public DashboardStatsDto aggregateQuery() {
+        return dashboardStatsService.getDashboardStats();
+    }
+
+    @Benchmark
+    public DashboardStatsDto counterSnapshot() {
+        return dashboardCounterService.snapshot();
+    }
+}
@@ -0,0 +1,270 @@
+package com.yourcompany.ems.benchmark;
+
+import com.yourcompany.ems.dto.DepartmentDto;
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.LeaveRequestDto;
+import com.yourcompany.ems.dto.PerformanceFeedbackDto;
+import com.yourcompany.ems.dto.ProjectDto;
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.entity.PerformanceFeedback;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.mapper.DepartmentMapper;
+import com.yourcompany.ems.mapper.DepartmentMapperImpl;
+import com.yourcompany.ems.mapper.LeaveRequestMapper;
+import com.yourcompany.ems.mapper.LeaveRequestMapperImpl;
+import com.yourcompany.ems.mapper.PerformanceFeedbackMapper;
+import com.yourcompany.ems.mapper.PerformanceFeedbackMapperImpl;
+import com.yourcompany.ems.mapper.ProjectMapper;
+import com.yourcompany.ems.mapper.ProjectMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the generated MapStruct mappers with the reflective ModelMapper configuration
+ * and convertToDto code they replaced. The legacy* benchmarks reproduce the old service code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private ProjectMapper projectMapper;
+    private LeaveRequestMapper leaveRequestMapper;
+    private PerformanceFeedbackMapper feedbackMapper;
+    private DepartmentMapper departmentMapper;
+
+    private Project project;
+    private LeaveRequest leaveRequest;
+    private PerformanceFeedback feedback;
+    private Department department;
+
+    @Setup
+    public void setUp() {
+        modelMapper = legacyModelMapper();
+        projectMapper = new ProjectMapperImpl();
+        leaveRequestMapper = new LeaveRequestMapperImpl();
+        feedbackMapper = new PerformanceFeedbackMapperImpl();
+        departmentMapper = new DepartmentMapperImpl();
+
+        department = new Department();
+        department.setId(1L);
+        department.setName("Engineering");
+        department.setCode("ENG");
+        department.setDescription("Software development and engineering");
+
+        Employee manager = employee(1L, null);
+        project = new Project();
+        project.setId(10L);
+        project.setName("WorkSphere");
+        project.setDescription("Employee management platform");
+        project.setProjectCode("PRJ001");
+        project.setStartDate(LocalDate.of(2024, 1, 1));
+        project.setEndDate(LocalDate.of(2024, 12, 31));
+        project.setManager(manager);
+        for (long i = 2; i < 12; i++) {
+            Employee member = employee(i, manager);
+            project.getEmployees().add(member);
+            department.getEmployees().add(member);
+        }
+
+        Employee employee = project.getEmployees().get(0);
+        leaveRequest = new LeaveRequest();
+        leaveRequest.setId(100L);
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setManager(manager);
+        leaveRequest.setLeaveType(LeaveRequest.LeaveType.PAID_LEAVE);
+        leaveRequest.setStartDate(LocalDate.of(2024, 5, 1));
+        leaveRequest.setEndDate(LocalDate.of(2024, 5, 3));
+        leaveRequest.setReason("Family event");
+
+        feedback = new PerformanceFeedback();
+        feedback.setId(200L);
+        feedback.setEmployee(employee);
+        feedback.setManager(manager);
+        feedback.setSprintNumber("S-12");
+        feedback.setPerformanceScore(4);
+        feedback.setComments("Consistent delivery");
+
+        // Both paths must produce the same DTOs for the comparison to be meaningful
+        check(legacyProject(), generatedProject(), "ProjectDto");
+        check(legacyLeaveRequest(), generatedLeaveRequest(), "LeaveRequestDto");
+        check(legacyFeedback(), generatedFeedback(), "PerformanceFeedbackDto");
+        check(legacyDepartment(), generatedDepartment(), "DepartmentDto");
+    }
+
+    @Benchmark
+    public ProjectDto legacyProject() {
+        ProjectDto dto = modelMapper.map(project, ProjectDto.class);
+        if (project.getManager() != null) {
+            dto.setManagerId(project.getManager().getId());
+            dto.setManagerName(project.getManager().getFullName());
+        }
+        if (project.getEmployees() != null) {
+            dto.setEmployees(project.getEmployees().stream()
+                    .map(emp -> {
+                        EmployeeDto employeeDto = new EmployeeDto();
+                        employeeDto.setId(emp.getId());
+                        employeeDto.setFirstName(emp.getFirstName());
+                        employeeDto.setLastName(emp.getLastName());
+                        employeeDto.setEmail(emp.getEmail());
+                        employeeDto.setEmployeeId(emp.getEmployeeId());
+                        employeeDto.setFullName(emp.getFullName());
+                        if (emp.getManager() != null) {
+                            employeeDto.setManagerId(emp.getManager().getId());
+                            employeeDto.setManagerName(emp.getManager().getFullName());
+                        }
+                        if (emp.getDepartment() != null) {
+                            employeeDto.setDepartmentId(emp.getDepartment().getId());
+                            employeeDto.setDepartmentName(emp.getDepartment().getName());
+                        }
+                        return employeeDto;
+                    })
+                    .collect(Collectors.toList()));
+        }
+        return dto;
+    }
+
+    @Benchmark
+    public ProjectDto generatedProject() {
+        return projectMapper.toDto(project);
+    }
+
+    @Benchmark
+    public LeaveRequestDto legacyLeaveRequest() {
+        LeaveRequestDto dto = modelMapper.map(leaveRequest, LeaveRequestDto.class);
+        dto.setEmployeeId(leaveRequest.getEmployee().getId());
+        dto.setEmployeeName(leaveRequest.getEmployee().getFullName());
+        dto.setManagerId(leaveRequest.getManager().getId());
+        dto.setManagerName(leaveRequest.getManager().getFullName());
+        return dto;
+    }
+
+    @Benchmark
+    public LeaveRequestDto generatedLeaveRequest() {
+        return leaveRequestMapper.toDto(leaveRequest);
+    }
+
+    @Benchmark
+    public PerformanceFeedbackDto legacyFeedback() {
+        PerformanceFeedbackDto dto = modelMapper.map(feedback, PerformanceFeedbackDto.class);
+        dto.setManagerId(feedback.getManager().getId());
+        dto.setManagerName(feedback.getManager().getFullName());
+        dto.setEmployeeId(feedback.getEmployee().getId());
+        dto.setEmployeeName(feedback.getEmployee().getFullName());
+        return dto;
+    }
+
+    @Benchmark
+    public PerformanceFeedbackDto generatedFeedback() {
+        return feedbackMapper.toDto(feedback);
+    }
+
+    @Benchmark
+    public DepartmentDto legacyDepartment() {
+        DepartmentDto dto = modelMapper.map(department, DepartmentDto.class);
+        dto.setEmployees(department.getEmployees().stream()
+                .map(employee -> {
+                    EmployeeDto employeeDto = new EmployeeDto();
+                    employeeDto.setId(employee.getId());
+                    employeeDto.setFirstName(employee.getFirstName());
+                    employeeDto.setLastName(employee.getLastName());
+                    employeeDto.setEmail(employee.getEmail());
+                    employeeDto.setEmployeeId(employee.getEmployeeId());
+                    return employeeDto;
+                })
+                .collect(Collectors.toList()));
+        return dto;
+    }
+
+    @Benchmark
+    public DepartmentDto generatedDepartment() {
+        return departmentMapper.toDto(department);
+    }
+
+    private Employee employee(long id, Employee manager) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeId(String.format("EMP%03d", id));
+        employee.setFirstName("First" + id);
+        employee.setLastName("Last" + id);
+        employee.setEmail("employee" + id + "@worksphere.com");
+        employee.setContact("+1000000" + id);
+        employee.setSkills("Java, Spring Boot, SQL");
+        employee.setManager(manager);
+        employee.setDepartment(department);
+        return employee;
+    }
+
+    private static void check(Object legacy, Object generated, String type) {
+        if (!legacy.equals(generated)) {
+            throw new IllegalStateException(type + " mismatch:\n  legacy:    " + legacy + "\n  generated: " + generated);
+        }
+    }
+
+    // Same configuration the application used before switching to generated mappers. The last two
+    // skips were missing there: without them ModelMapper rejects LeaveRequestDto and PerformanceFeedbackDto
+    // because employeeName/managerName match firstName, lastName and fullName at once.
+    private static ModelMapper legacyModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+            .setMatchingStrategy(org.modelmapper.convention.MatchingStrategies.STANDARD)
+            .setFieldMatchingEnabled(true)
+            .setSkipNullEnabled(true)
+            .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+        modelMapper.addMappings(new PropertyMap<Employee, EmployeeDto>() {
+            @Override
+            protected void configure() {
+                skip(destination.getManagerName());
+                skip(destination.getManagerId());
+            }
+        });
+        modelMapper.addMappings(new PropertyMap<Project, ProjectDto>() {
+            @Override
+            protected void configure() {
+                skip(destination.getManagerName());
+                skip(destination.getManagerId());
+            }
+        });
+        modelMapper.addMappings(new PropertyMap<EmployeeDto, Employee>() {
+            @Override
+            protected void configure() {
+                skip(destination.getManager());
+            }
+        });
+        modelMapper.addMappings(new PropertyMap<LeaveRequest, LeaveRequestDto>() {
+            @Override
+            protected void configure() {
+                skip(destination.getEmployeeName());
+                skip(destination.getManagerName());
+            }
+        });
+        modelMapper.addMappings(new PropertyMap<PerformanceFeedback, PerformanceFeedbackDto>() {
+            @Override
+            protected void configure() {
+                skip(destination.getEmployeeName());
+                skip(destination.getManagerName());
+            }
+        });
+        return modelMapper;
+    }
+}
@@ -0,0 +1,124 @@
+package com.yourcompany.ems.benchmark;
+
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.ProjectDto;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import com.yourcompany.ems.service.EmployeeService;
+import com.yourcompany.ems.service.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.AopTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO conversion in EmployeeService and ProjectService.
+ * The convert* benchmarks call the private convertToDto methods on entities that were fully loaded
+ * up front, so they measure mapping only; the list* benchmarks include the queries and run in a
+ * transaction, like a request with open-in-view does.
+ * Scores are per call over the whole seeded data set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceMappingBenchmark {
+
+    private BenchmarkContext context;
+    private EmployeeService employeeService;
+    private ProjectService projectService;
+    private MethodHandle employeeToDto;
+    private MethodHandle projectToDto;
+    private List<Employee> employees;
+    private List<Project> projects;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkContext context) throws Exception {
+        this.context = context;
+        employeeService = context.bean(EmployeeService.class);
+        projectService = context.bean(ProjectService.class);
+        EmployeeService employeeTarget = AopTestUtils.getUltimateTargetObject(employeeService);
+        ProjectService projectTarget = AopTestUtils.getUltimateTargetObject(projectService);
+        employeeToDto = privateMethod(EmployeeService.class, "convertToDto", EmployeeDto.class, Employee.class)
+                .bindTo(employeeTarget);
+        projectToDto = privateMethod(ProjectService.class, "convertToDto", ProjectDto.class, Project.class)
+                .bindTo(projectTarget);
+
+        // Convert once inside the transaction so every lazy association the mapping needs is loaded
+        employees = context.inTransaction(() -> {
+            List<Employee> loaded = context.bean(EmployeeRepository.class).findAllNonAdminEmployeesForList();
+            loaded.forEach(this::convert);
+            return loaded;
+        });
+        projects = context.inTransaction(() -> {
+            List<Project> loaded = context.bean(ProjectRepository.class).findAll();
+            loaded.forEach(this::convert);
+            return loaded;
+        });
+    }
+
+    @Benchmark
+    public void convertEmployees(Blackhole blackhole) {
+        for (Employee employee : employees) {
+            blackhole.consume(convert(employee));
+        }
+    }
+
+    @Benchmark
+    public void convertProjects(Blackhole blackhole) {
+        for (Project project : projects) {
+            blackhole.consume(convert(project));
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeDto> listEmployees() {
+        return context.inTransaction(employeeService::getAllEmployees);
+    }
+
+    @Benchmark
+    public List<ProjectDto> listProjects() {
+        return context.inTransaction(projectService::getAllProjects);
+    }
+
+    private EmployeeDto convert(Employee employee) {
+        try {
+            return (EmployeeDto) employeeToDto.invoke(employee);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ProjectDto convert(Project project) {
+        try {
+            return (ProjectDto) projectToDto.invoke(project);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle privateMethod(Class<?> owner, String name, Class<?> returnType, Class<?> parameterType)
+            throws ReflectiveOperationException {
+        return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                .findVirtual(owner, name, MethodType.methodType(returnType, parameterType));
+    }
+}
@@ -0,0 +1,21 @@
+package com.yourcompany.ems.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a controller parameter of type Long to the employee id of the authenticated user.
+ * Resolved at most once per request. When {@link #required()} is false the parameter is null
+ * if there is no authenticated user. An authenticated user without an employee record always
+ * fails with an "Employee not found" error.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentEmployee {
+
+    boolean required() default true;
+}
@@ -0,0 +1,59 @@
+package com.yourcompany.ems.config;
+
+import com.yourcompany.ems.service.EmployeeIdentityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentEmployee} parameters from the authenticated username.
+ * The id is stored as a request attribute so it is looked up once per request.
+ */
+@Component
+public class CurrentEmployeeArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentEmployeeArgumentResolver.class.getName() + ".employeeId";
+
+    @Autowired
+    private EmployeeIdentityService employeeIdentityService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentEmployee.class)
+                && Long.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Long employeeId = (Long) webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (employeeId == null) {
+            employeeId = resolve(parameter.getParameterAnnotation(CurrentEmployee.class).required());
+            if (employeeId != null) {
+                webRequest.setAttribute(ATTRIBUTE, employeeId, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        return employeeId;
+    }
+
+    private Long resolve(boolean required) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            if (required) {
+                throw new RuntimeException("No authenticated user");
+            }
+            return null;
+        }
+        // An authenticated user without an employee record must not fall back to anyone else's data
+        return employeeIdentityService.getEmployeeId(authentication.getName());
+    }
+}
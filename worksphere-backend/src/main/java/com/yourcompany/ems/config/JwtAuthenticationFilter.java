@@ -1,15 +1,20 @@
 package com.yourcompany.ems.config;
 
+import com.yourcompany.ems.service.TokenVersionService;
 import com.yourcompany.ems.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,6 +22,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,72 +37,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // TEMPORARILY SKIP ALL JWT PROCESSING FOR DEBUGGING
-        logger.debug("JWT Filter: Skipping ALL JWT processing for debugging - Request: {} {}", request.getMethod(), request.getRequestURI());
-        filterChain.doFilter(request, response);
-        return;
-        
-        /*
-        // Skip JWT processing for login endpoint and employee endpoints (temporarily for testing)
-        if (request.getRequestURI().equals("/api/auth/login") && request.getMethod().equals("POST")) {
-            logger.debug("Skipping JWT processing for login endpoint");
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
-        // Temporarily skip JWT processing for employee endpoints
-        if (request.getRequestURI().startsWith("/api/employee/")) {
-            logger.debug("Skipping JWT processing for employee endpoint: {}", request.getRequestURI());
-            filterChain.doFilter(request, response);
-            return;
-        }
-
         final String authorizationHeader = request.getHeader("Authorization");
-        
-        logger.debug("Processing request: {} {}", request.getMethod(), request.getRequestURI());
-        logger.debug("Authorization header: {}", authorizationHeader != null ? "present" : "missing");
-
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-                logger.debug("Extracted username from JWT: {}", username);
-            } catch (Exception e) {
-                logger.error("Error extracting username from JWT", e);
-            }
-        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                logger.debug("Loaded user details for {}: authorities={}", username, userDetails.getAuthorities());
-
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                UserDetails userDetails = authenticate(jwt);
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("Authentication set for user: {} with authorities: {}", username, userDetails.getAuthorities());
-                } else {
-                    logger.warn("JWT token validation failed for user: {}", username);
+                    logger.debug("Authentication set for user: {} with authorities: {}",
+                            userDetails.getUsername(), userDetails.getAuthorities());
                 }
-            } catch (Exception e) {
-                logger.error("Error loading user details for username: {}", username, e);
+            } catch (JwtException | UsernameNotFoundException e) {
+                logger.warn("JWT token rejected for {} {}: {}", request.getMethod(), request.getRequestURI(), e.getMessage());
             }
-        } else if (username == null) {
-            logger.debug("No username extracted from JWT token");
-        } else {
-            logger.debug("Authentication already exists for user: {}", username);
         }
-        
+
         filterChain.doFilter(request, response);
-        */
+    }
+
+    /**
+     * Builds the principal from the token's userId and roles claims, so no user lookup is needed.
+     * Tokens issued without these claims fall back to loading the user.
+     * Returns null when the token has been revoked.
+     */
+    private UserDetails authenticate(String jwt) {
+        Claims claims = jwtUtil.parseToken(jwt);
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        Object roles = claims.get(JwtUtil.ROLES_CLAIM);
+
+        if (userId == null || !(roles instanceof Collection)) {
+            logger.debug("JWT without userId/roles claims, loading user {}", claims.getSubject());
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (tokenVersionService.isRevoked(userId, claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class))) {
+            logger.warn("Revoked JWT presented for user: {}", claims.getSubject());
+            return null;
+        }
+
+        List<SimpleGrantedAuthority> authorities = ((Collection<?>) roles).stream()
+                .map(String::valueOf)
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new JwtUserPrincipal(userId, claims.getSubject(), authorities);
     }
 }
@@ -0,0 +1,46 @@
+package com.yourcompany.ems.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Principal built from the claims of a verified JWT, so authenticated requests
+ * do not need to load the user from the database.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtUserPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String username;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
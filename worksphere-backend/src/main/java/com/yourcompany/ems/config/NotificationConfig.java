@@ -0,0 +1,16 @@
+package com.yourcompany.ems.config;
+
+import com.yourcompany.ems.service.LoggingNotificationSender;
+import com.yourcompany.ems.service.NotificationSender;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NotificationConfig {
+
+    // Default sender; a real one (e.g. backed by JavaMailSender) is declared as a @Primary bean and wins
+    @Bean
+    public NotificationSender loggingNotificationSender() {
+        return new LoggingNotificationSender();
+    }
+}
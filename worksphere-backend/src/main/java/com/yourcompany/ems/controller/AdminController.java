@@ -1,7 +1,10 @@
 package com.yourcompany.ems.controller;
 
+import com.yourcompany.ems.dto.CursorPage;
+import com.yourcompany.ems.dto.DashboardStatsDto;
 import com.yourcompany.ems.dto.EmployeeDto;
 import com.yourcompany.ems.dto.ProjectDto;
+import com.yourcompany.ems.service.DashboardCounterService;
 import com.yourcompany.ems.service.EmployeeService;
 import com.yourcompany.ems.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,11 +28,14 @@ public class AdminController {
 
     private final EmployeeService employeeService;
     private final ProjectService projectService;
+    private final DashboardCounterService dashboardCounterService;
     
     @Autowired
-    public AdminController(EmployeeService employeeService, ProjectService projectService) {
+    public AdminController(EmployeeService employeeService, ProjectService projectService,
+                           DashboardCounterService dashboardCounterService) {
         this.employeeService = employeeService;
         this.projectService = projectService;
+        this.dashboardCounterService = dashboardCounterService;
     }
 
     @GetMapping("/dashboard")
@@ -37,30 +43,15 @@ public class AdminController {
     @Operation(summary = "Admin Dashboard", description = "Get admin dashboard statistics (requires ADMIN role)")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            
-            List<EmployeeDto> allEmployees = employeeService.getAllEmployees();
-            List<ProjectDto> allProjects = projectService.getAllProjects();
-
-            // Calculate statistics
-            long totalEmployees = allEmployees.size();
-            long totalHRs = allEmployees.stream()
-                    .filter(emp -> emp.getRole() != null && emp.getRole().equals("ROLE_HR"))
-                    .count();
-            long totalManagers = allEmployees.stream()
-                    .filter(emp -> emp.getRole() != null && emp.getRole().equals("ROLE_MANAGER"))
-                    .count();
-            long totalProjects = allProjects.size();
-            long activeProjects = allProjects.stream()
-                    .filter(project -> "ACTIVE".equals(project.getStatus()))
-                    .count();
+            // Counters are answered from memory instead of loading every employee and project
+            DashboardStatsDto counts = dashboardCounterService.snapshot();
 
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalEmployees", totalEmployees);
-            stats.put("totalHRs", totalHRs);
-            stats.put("totalManagers", totalManagers);
-            stats.put("totalProjects", totalProjects);
-            stats.put("activeProjects", activeProjects);
+            stats.put("totalEmployees", counts.getTotalEmployees());
+            stats.put("totalHRs", counts.getTotalHRs());
+            stats.put("totalManagers", counts.getTotalManagers());
+            stats.put("totalProjects", counts.getTotalProjects());
+            stats.put("activeProjects", counts.getActiveProjects());
             
             // Add recent employees (limit to 2 as per requirement)
             List<EmployeeDto> recentEmployees = employeeService.getRecentEmployees(2);
@@ -75,32 +66,27 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/dashboard/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Admin Dashboard Statistics", description = "Get role counts, project/leave status histograms and department headcounts (requires ADMIN role)")
+    public ResponseEntity<DashboardStatsDto> getTypedDashboardStats() {
+        DashboardStatsDto stats = dashboardCounterService.snapshot();
+        return ResponseEntity.ok(stats);
+    }
+
     @GetMapping("/dashboard/public")
     @Operation(summary = "Public Admin Dashboard", description = "Get admin dashboard statistics (public access for testing)")
     public ResponseEntity<Map<String, Object>> getPublicDashboardStats() {
         try {
-            List<EmployeeDto> allEmployees = employeeService.getAllEmployees();
-            List<ProjectDto> allProjects = projectService.getAllProjects();
-
-            // Calculate statistics
-            long totalEmployees = allEmployees.size();
-            long totalHRs = allEmployees.stream()
-                    .filter(emp -> emp.getRole() != null && emp.getRole().equals("ROLE_HR"))
-                    .count();
-            long totalManagers = allEmployees.stream()
-                    .filter(emp -> emp.getRole() != null && emp.getRole().equals("ROLE_MANAGER"))
-                    .count();
-            long totalProjects = allProjects.size();
-            long activeProjects = allProjects.stream()
-                    .filter(project -> "ACTIVE".equals(project.getStatus()))
-                    .count();
+            // Counters are answered from memory instead of loading every employee and project
+            DashboardStatsDto counts = dashboardCounterService.snapshot();
 
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalEmployees", totalEmployees);
-            stats.put("totalHRs", totalHRs);
-            stats.put("totalManagers", totalManagers);
-            stats.put("totalProjects", totalProjects);
-            stats.put("activeProjects", activeProjects);
+            stats.put("totalEmployees", counts.getTotalEmployees());
+            stats.put("totalHRs", counts.getTotalHRs());
+            stats.put("totalManagers", counts.getTotalManagers());
+            stats.put("totalProjects", counts.getTotalProjects());
+            stats.put("activeProjects", counts.getActiveProjects());
             
             // Add recent employees (limit to 2 as per requirement)
             List<EmployeeDto> recentEmployees = employeeService.getRecentEmployees(2);
@@ -119,12 +105,31 @@ public class AdminController {
 
     @GetMapping("/employees")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get All Employees", description = "Get all employees (requires ADMIN role)")
-    public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
+    @Operation(summary = "Get All Employees", description = "Get all employees, view=summary for directory rows or view=full for complete profiles (requires ADMIN role)")
+    public ResponseEntity<List<?>> getAllEmployees(@RequestParam(defaultValue = "full") String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(employeeService.getAllEmployeeSummaries());
+        }
         List<EmployeeDto> employees = employeeService.getAllEmployees();
         return ResponseEntity.ok(employees);
     }
     
+    @GetMapping("/employees/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get Employees Page", description = "Get one page of employees using cursor pagination, view=summary|full (requires ADMIN role)")
+    public ResponseEntity<CursorPage<?>> getEmployeesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(defaultValue = "full") String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(employeeService.getEmployeeSummariesPage(cursor, size, sort, includeTotal));
+        }
+        CursorPage<EmployeeDto> page = employeeService.getEmployeesPage(cursor, size, sort, includeTotal);
+        return ResponseEntity.ok(page);
+    }
+    
     @GetMapping("/recent-employees")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get Recent Employees", description = "Get recent employees for dashboard (requires ADMIN role)")
@@ -148,6 +153,18 @@ public class AdminController {
         return ResponseEntity.ok(projects);
     }
 
+    @GetMapping("/projects/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get Projects Page", description = "Get one page of projects using cursor pagination (requires ADMIN role)")
+    public ResponseEntity<CursorPage<ProjectDto>> getProjectsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<ProjectDto> page = projectService.getProjectsPage(cursor, size, sort, includeTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/employees/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get Employee by ID", description = "Get employee by ID (requires ADMIN role)")
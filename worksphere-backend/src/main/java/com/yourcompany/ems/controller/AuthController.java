@@ -46,6 +46,15 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/logout")
+    @Operation(summary = "User Logout", description = "Revoke all JWT tokens issued to the current user")
+    public ResponseEntity<Map<String, String>> logout() {
+        authService.logout(SecurityContextHolder.getContext().getAuthentication());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health Check", description = "Check if the application is running")
     public ResponseEntity<String> health() {
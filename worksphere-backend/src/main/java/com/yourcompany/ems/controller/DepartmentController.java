@@ -1,5 +1,6 @@
 package com.yourcompany.ems.controller;
 
+import com.yourcompany.ems.dto.CursorPage;
 import com.yourcompany.ems.dto.DepartmentDto;
 import com.yourcompany.ems.service.DepartmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,6 +30,17 @@ public class DepartmentController {
         return ResponseEntity.ok(departments);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get departments page", description = "Retrieve one page of departments using cursor pagination")
+    public ResponseEntity<CursorPage<DepartmentDto>> getDepartmentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<DepartmentDto> page = departmentService.getDepartmentsPage(cursor, size, sort, includeTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get department by ID", description = "Retrieve a specific department by its ID")
     public ResponseEntity<DepartmentDto> getDepartmentById(@PathVariable Long id) {
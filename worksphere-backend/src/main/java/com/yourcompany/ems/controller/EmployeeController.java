@@ -1,23 +1,37 @@
 package com.yourcompany.ems.controller;
 
+import com.yourcompany.ems.config.CurrentEmployee;
 import com.yourcompany.ems.dto.EmployeeDto;
 import com.yourcompany.ems.dto.LeaveRequestDto;
 import com.yourcompany.ems.dto.PerformanceFeedbackDto;
 import com.yourcompany.ems.dto.ProjectDto;
+import com.yourcompany.ems.dto.TeamMemberDto;
+import com.yourcompany.ems.service.EmployeeIdentityService;
 import com.yourcompany.ems.service.EmployeeService;
 import com.yourcompany.ems.service.LeaveRequestService;
+import com.yourcompany.ems.service.PdfRenderingService;
 import com.yourcompany.ems.service.PerformanceFeedbackService;
 import com.yourcompany.ems.service.ProjectService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.time.LocalDate;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/employee")
@@ -25,6 +39,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 // @PreAuthorize("hasRole('EMPLOYEE')")  // Temporarily disabled for testing
 public class EmployeeController {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
+
     @Autowired
     private EmployeeService employeeService;
 
@@ -37,26 +53,29 @@ public class EmployeeController {
     @Autowired
     private LeaveRequestService leaveRequestService;
 
-    private String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated() && !"anonymousUser".equals(authentication.getName())) {
-            System.out.println("DEBUG: Using authenticated username: " + authentication.getName());
-            return authentication.getName();
+    @Autowired
+    private EmployeeIdentityService employeeIdentityService;
+
+    @Autowired
+    private PdfRenderingService pdfRenderingService;
+
+    private Long getCurrentEmployeeId(Long currentEmployeeId) {
+        if (currentEmployeeId != null) {
+            return currentEmployeeId;
         }
-        // Return default employee username for testing when authentication is disabled
+        // Use the default employee for testing when authentication is disabled
         // This will work with the sample employee we created in DataInitializer
-        System.out.println("DEBUG: Using default username: employee");
-        return "employee";
+        logger.debug("No authenticated employee, using default username: employee");
+        return employeeIdentityService.getEmployeeId("employee");
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<EmployeeDto> getDashboard() {
+    public ResponseEntity<EmployeeDto> getDashboard(@CurrentEmployee(required = false) Long currentEmployeeId) {
         try {
-            String username = getCurrentUsername();
-            EmployeeDto employee = employeeService.getEmployeeByUsername(username);
+            EmployeeDto employee = employeeService.getEmployeeById(getCurrentEmployeeId(currentEmployeeId));
             return ResponseEntity.ok(employee);
         } catch (RuntimeException e) {
-            System.out.println("Error fetching dashboard: " + e.getMessage());
+            logger.warn("Error fetching dashboard: {}", e.getMessage());
             // Return dummy profile for dashboard too
             EmployeeDto dummyProfile = createDummyProfile();
             return ResponseEntity.ok(dummyProfile);
@@ -65,20 +84,20 @@ public class EmployeeController {
 
     // Profile management
     @GetMapping("/profile")
-    public ResponseEntity<EmployeeDto> getProfile(@RequestParam(required = false) Long employeeId) {
+    public ResponseEntity<EmployeeDto> getProfile(@RequestParam(required = false) Long employeeId,
+                                                  @CurrentEmployee(required = false) Long currentEmployeeId) {
         try {
             if (employeeId != null) {
                 // If employeeId is provided, use it directly
                 EmployeeDto employee = employeeService.getEmployeeById(employeeId);
                 return ResponseEntity.ok(employee);
             } else {
-                // Fall back to username-based lookup
-                String username = getCurrentUsername();
-                EmployeeDto employee = employeeService.getEmployeeByUsername(username);
+                // Fall back to the logged-in employee
+                EmployeeDto employee = employeeService.getEmployeeById(getCurrentEmployeeId(currentEmployeeId));
                 return ResponseEntity.ok(employee);
             }
         } catch (RuntimeException e) {
-            System.out.println("Error fetching profile: " + e.getMessage());
+            logger.warn("Error fetching profile: {}", e.getMessage());
             // Return a dummy profile instead of error for now
             EmployeeDto dummyProfile = createDummyProfile();
             return ResponseEntity.ok(dummyProfile);
@@ -86,26 +105,23 @@ public class EmployeeController {
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<EmployeeDto> updateProfile(@Valid @RequestBody EmployeeDto employeeDto, @RequestParam(required = false) Long employeeId) {
+    public ResponseEntity<EmployeeDto> updateProfile(@Valid @RequestBody EmployeeDto employeeDto, @RequestParam(required = false) Long employeeId,
+                                                     @CurrentEmployee(required = false) Long currentEmployeeId) {
         if (employeeId != null) {
             // If employeeId is provided, use it directly
             EmployeeDto updatedEmployee = employeeService.updateEmployee(employeeId, employeeDto);
             return ResponseEntity.ok(updatedEmployee);
         } else {
-            // Fall back to username-based lookup
-            String username = getCurrentUsername();
-            EmployeeDto currentEmployee = employeeService.getEmployeeByUsername(username);
-            EmployeeDto updatedEmployee = employeeService.updateEmployee(currentEmployee.getId(), employeeDto);
+            // Fall back to the logged-in employee
+            EmployeeDto updatedEmployee = employeeService.updateEmployee(getCurrentEmployeeId(currentEmployeeId), employeeDto);
             return ResponseEntity.ok(updatedEmployee);
         }
     }
 
     // Project management
     @GetMapping("/projects")
-    public ResponseEntity<List<ProjectDto>> getAssignedProjects() {
-        String username = getCurrentUsername();
-        EmployeeDto employee = employeeService.getEmployeeByUsername(username);
-        List<ProjectDto> projects = projectService.getProjectsByEmployee(employee.getId());
+    public ResponseEntity<List<ProjectDto>> getAssignedProjects(@CurrentEmployee(required = false) Long currentEmployeeId) {
+        List<ProjectDto> projects = projectService.getProjectsByEmployee(getCurrentEmployeeId(currentEmployeeId));
         return ResponseEntity.ok(projects);
     }
 
@@ -117,60 +133,61 @@ public class EmployeeController {
 
     // Team members
     @GetMapping("/team-members")
-    public ResponseEntity<List<EmployeeDto>> getTeamMembers() {
-        String username = getCurrentUsername();
-        EmployeeDto employee = employeeService.getEmployeeByUsername(username);
-        List<EmployeeDto> teamMembers = employeeService.getTeamMembers(employee.getId());
+    public ResponseEntity<List<TeamMemberDto>> getTeamMembers(@CurrentEmployee(required = false) Long currentEmployeeId) {
+        List<TeamMemberDto> teamMembers = employeeService.getTeamMembers(getCurrentEmployeeId(currentEmployeeId));
         return ResponseEntity.ok(teamMembers);
     }
 
     // Performance Feedback
     @GetMapping("/feedback")
-    public ResponseEntity<List<PerformanceFeedbackDto>> getFeedback() {
+    public ResponseEntity<List<PerformanceFeedbackDto>> getFeedback(@CurrentEmployee(required = false) Long currentEmployeeId) {
         try {
-            String username = getCurrentUsername();
-            EmployeeDto employee = employeeService.getEmployeeByUsername(username);
-            List<PerformanceFeedbackDto> feedback = feedbackService.getFeedbackByEmployee(employee.getId());
+            List<PerformanceFeedbackDto> feedback = feedbackService.getFeedbackByEmployee(getCurrentEmployeeId(currentEmployeeId));
             return ResponseEntity.ok(feedback);
         } catch (RuntimeException e) {
-            System.out.println("Error fetching feedback: " + e.getMessage());
+            logger.warn("Error fetching feedback: {}", e.getMessage());
             // Return empty list instead of error for now
             return ResponseEntity.ok(java.util.Collections.emptyList());
         }
     }
 
     @GetMapping("/feedback/sprint/{sprintNumber}")
-    public ResponseEntity<List<PerformanceFeedbackDto>> getFeedbackBySprint(@PathVariable String sprintNumber) {
-        String username = getCurrentUsername();
-        EmployeeDto employee = employeeService.getEmployeeByUsername(username);
-        List<PerformanceFeedbackDto> feedback = feedbackService.getFeedbackByEmployeeAndSprint(employee.getId(), sprintNumber);
+    public ResponseEntity<List<PerformanceFeedbackDto>> getFeedbackBySprint(@PathVariable String sprintNumber,
+                                                                            @CurrentEmployee(required = false) Long currentEmployeeId) {
+        List<PerformanceFeedbackDto> feedback = feedbackService.getFeedbackByEmployeeAndSprint(getCurrentEmployeeId(currentEmployeeId), sprintNumber);
         return ResponseEntity.ok(feedback);
     }
 
     // Leave Management
     @PostMapping("/leave/apply")
-    public ResponseEntity<LeaveRequestDto> applyForLeave(@Valid @RequestBody LeaveRequestDto leaveRequestDto) {
-        String username = getCurrentUsername();
-        EmployeeDto employee = employeeService.getEmployeeByUsername(username);
-        leaveRequestDto.setEmployeeId(employee.getId());
+    public ResponseEntity<LeaveRequestDto> applyForLeave(@Valid @RequestBody LeaveRequestDto leaveRequestDto,
+                                                         @CurrentEmployee(required = false) Long currentEmployeeId) {
+        leaveRequestDto.setEmployeeId(getCurrentEmployeeId(currentEmployeeId));
         LeaveRequestDto createdLeave = leaveRequestService.applyForLeave(leaveRequestDto);
         return ResponseEntity.ok(createdLeave);
     }
 
     @GetMapping("/leaves")
-    public ResponseEntity<List<LeaveRequestDto>> getLeaveHistory() {
+    public ResponseEntity<List<LeaveRequestDto>> getLeaveHistory(@CurrentEmployee(required = false) Long currentEmployeeId) {
         try {
-            String username = getCurrentUsername();
-            EmployeeDto employee = employeeService.getEmployeeByUsername(username);
-            List<LeaveRequestDto> leaves = leaveRequestService.getLeavesByEmployee(employee.getId());
+            List<LeaveRequestDto> leaves = leaveRequestService.getLeavesByEmployee(getCurrentEmployeeId(currentEmployeeId));
             return ResponseEntity.ok(leaves);
         } catch (RuntimeException e) {
-            System.out.println("Error fetching leaves: " + e.getMessage());
+            logger.warn("Error fetching leaves: {}", e.getMessage());
             // Return empty list instead of error for now
             return ResponseEntity.ok(java.util.Collections.emptyList());
         }
     }
 
+    // Leave balance ledger: one row when a type is given, otherwise one per leave type (year defaults to this year)
+    @GetMapping("/leave/balance")
+    public ResponseEntity<List<Map<String, Object>>> getLeaveBalance(@RequestParam(required = false) Integer year,
+                                                                     @RequestParam(required = false) String type,
+                                                                     @CurrentEmployee(required = false) Long currentEmployeeId) {
+        int balanceYear = year != null ? year : LocalDate.now().getYear();
+        return ResponseEntity.ok(leaveRequestService.getLeaveBalances(getCurrentEmployeeId(currentEmployeeId), balanceYear, type));
+    }
+
     @GetMapping("/leaves/{id}")
     public ResponseEntity<LeaveRequestDto> getLeaveById(@PathVariable Long id) {
         LeaveRequestDto leave = leaveRequestService.getLeaveById(id);
@@ -179,27 +196,43 @@ public class EmployeeController {
 
     // Skills management
     @PutMapping("/skills")
-    public ResponseEntity<EmployeeDto> updateSkills(@RequestBody String skills) {
-        String username = getCurrentUsername();
-        EmployeeDto employee = employeeService.getEmployeeByUsername(username);
+    public ResponseEntity<EmployeeDto> updateSkills(@RequestBody String skills,
+                                                    @CurrentEmployee(required = false) Long currentEmployeeId) {
+        EmployeeDto employee = employeeService.getEmployeeById(getCurrentEmployeeId(currentEmployeeId));
         employee.setSkills(skills);
         EmployeeDto updatedEmployee = employeeService.updateEmployee(employee.getId(), employee);
         return ResponseEntity.ok(updatedEmployee);
     }
 
-    // TODO: Add PDF generation endpoints for resume and ID card
+    // PDF documents of the current employee, rendered on demand and cached on disk until the profile changes
     @GetMapping("/resume")
-    public ResponseEntity<String> downloadResume() {
-        // TODO: Implement PDF generation for resume
-        return ResponseEntity.ok("Resume PDF generation - To be implemented");
+    public ResponseEntity<Resource> downloadResume(@CurrentEmployee(required = false) Long currentEmployeeId) {
+        return pdfResponse(getCurrentEmployeeId(currentEmployeeId), PdfRenderingService.DocumentType.RESUME);
     }
 
     @GetMapping("/id-card")
-    public ResponseEntity<String> generateIdCard() {
-        // TODO: Implement PDF generation for ID card
-        return ResponseEntity.ok("ID Card PDF generation - To be implemented");
+    public ResponseEntity<Resource> generateIdCard(@CurrentEmployee(required = false) Long currentEmployeeId) {
+        return pdfResponse(getCurrentEmployeeId(currentEmployeeId), PdfRenderingService.DocumentType.ID_CARD);
+    }
+
+    private ResponseEntity<Resource> pdfResponse(Long employeeId, PdfRenderingService.DocumentType type) {
+        Path file;
+        try {
+            file = pdfRenderingService.getDocument(employeeId, type);
+        } catch (RejectedExecutionException e) {
+            logger.warn("PDF render queue full, rejecting {} for employee {}", type.getFileName(), employeeId);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+        }
+        // The cache file name changes with the profile, so it doubles as the ETag (304 on a match)
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .eTag(file.getFileName().toString())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(type.getFileName() + ".pdf").build().toString())
+                .body(new FileSystemResource(file));
     }
-    
+
     private EmployeeDto createDummyProfile() {
         EmployeeDto dummy = new EmployeeDto();
         dummy.setId(1L);
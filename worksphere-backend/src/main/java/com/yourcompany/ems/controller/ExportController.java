@@ -0,0 +1,56 @@
+package com.yourcompany.ems.controller;
+
+import com.yourcompany.ems.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk exports for HR. The body is written while the rows are read from the database,
+ * so the response starts immediately and its size is not limited by memory.
+ */
+@RestController
+@RequestMapping("/hr/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    // dataset: employees, projects, leaves or feedback; columns: comma-separated, default all
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(required = false) String columns,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Dataset exportDataset = ExportService.Dataset.from(dataset);
+        ExportService.Format exportFormat = ExportService.Format.from(format);
+        List<String> selectedColumns = exportService.resolveColumns(exportDataset, columns);
+
+        String filename = exportDataset.name().toLowerCase(Locale.ROOT) + "-" + LocalDate.now()
+                + "." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(output, 8192)) {
+                    exportService.export(exportDataset, selectedColumns, exportFormat, compressed);
+                }
+            } else {
+                exportService.export(exportDataset, selectedColumns, exportFormat, output);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
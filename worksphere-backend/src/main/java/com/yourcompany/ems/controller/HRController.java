@@ -1,24 +1,41 @@
 package com.yourcompany.ems.controller;
 
+import com.yourcompany.ems.dto.CursorPage;
+import com.yourcompany.ems.dto.DashboardStatsDto;
 import com.yourcompany.ems.dto.DepartmentDto;
 import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.EmployeeImportResult;
 import com.yourcompany.ems.dto.LeaveRequestDto;
 import com.yourcompany.ems.dto.ProjectDto;
+import com.yourcompany.ems.dto.ProjectMembershipRequest;
+import com.yourcompany.ems.service.DashboardCounterService;
 import com.yourcompany.ems.service.DepartmentService;
+import com.yourcompany.ems.service.EmployeeImportService;
 import com.yourcompany.ems.service.EmployeeService;
 import com.yourcompany.ems.service.HRDashboardService;
+import com.yourcompany.ems.service.IdCardBatchService;
+import com.yourcompany.ems.service.LeaveBalanceService;
 import com.yourcompany.ems.service.LeaveRequestService;
+import com.yourcompany.ems.service.OrgChartIndexService;
 import com.yourcompany.ems.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -39,19 +56,55 @@ public class HRController {
     @Autowired
     private HRDashboardService hrDashboardService;
 
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private IdCardBatchService idCardBatchService;
+
+    @Autowired
+    private OrgChartIndexService orgChartIndexService;
+
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboard() {
         Map<String, Object> stats = hrDashboardService.getDashboardStats();
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/dashboard/stats")
+    public ResponseEntity<DashboardStatsDto> getDashboardStats() {
+        DashboardStatsDto stats = dashboardCounterService.snapshot();
+        return ResponseEntity.ok(stats);
+    }
+
     // Employee CRUD operations
+    // view=summary returns lightweight directory rows, view=full (default) the complete profiles
     @GetMapping("/employees")
-    public ResponseEntity<List<EmployeeDto>> getAllEmployees() {
+    public ResponseEntity<List<?>> getAllEmployees(@RequestParam(defaultValue = "full") String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(employeeService.getAllEmployeeSummaries());
+        }
         List<EmployeeDto> employees = employeeService.getAllEmployees();
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/employees/page")
+    public ResponseEntity<CursorPage<?>> getEmployeesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(defaultValue = "full") String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(employeeService.getEmployeeSummariesPage(cursor, size, sort, includeTotal));
+        }
+        CursorPage<EmployeeDto> page = employeeService.getEmployeesPage(cursor, size, sort, includeTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/employees/{id}")
     public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable Long id) {
         EmployeeDto employee = employeeService.getEmployeeById(id);
@@ -64,6 +117,17 @@ public class HRController {
         return ResponseEntity.ok(createdEmployee);
     }
 
+    // Bulk import: the request body is a CSV file with a header row (text/csv) or one JSON
+    // object per line (application/x-ndjson), read as a stream
+    @PostMapping(value = "/employees/import", consumes = {"text/csv", "application/x-ndjson", "application/json"})
+    public ResponseEntity<EmployeeImportResult> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        EmployeeImportResult result = employeeImportService.importEmployees(
+                body, EmployeeImportService.Format.fromContentType(contentType));
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/employees/{id}")
     public ResponseEntity<EmployeeDto> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDto employeeDto) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -86,6 +150,16 @@ public class HRController {
         return ResponseEntity.ok(projects);
     }
 
+    @GetMapping("/projects/page")
+    public ResponseEntity<CursorPage<ProjectDto>> getProjectsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<ProjectDto> page = projectService.getProjectsPage(cursor, size, sort, includeTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @PostMapping("/projects")
     public ResponseEntity<ProjectDto> createProject(@Valid @RequestBody ProjectDto projectDto) {
         logger.info("Creating project: {}", projectDto.getName());
@@ -123,6 +197,58 @@ public class HRController {
         ProjectDto project = projectService.removeEmployeeFromProject(projectId, employeeId);
         return ResponseEntity.ok(project);
     }
+
+    // Assign and unassign many employees in one transaction
+    @PostMapping("/projects/{projectId}/members")
+    public ResponseEntity<Map<String, Object>> updateProjectMembers(@PathVariable Long projectId,
+                                                                    @RequestBody ProjectMembershipRequest request) {
+        Map<String, Object> result = projectService.updateProjectMembers(projectId, request.getAssign(), request.getUnassign());
+        return ResponseEntity.ok(result);
+    }
+
+    // Bulk ID cards as a ZIP; poll /id-cards/jobs/{X-Job-Id} for progress while it downloads
+    @GetMapping("/id-cards")
+    public ResponseEntity<StreamingResponseBody> downloadIdCards(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo) {
+        String jobId = idCardBatchService.startJob(departmentId, joinedFrom, joinedTo);
+        StreamingResponseBody body = output -> idCardBatchService.writeZip(jobId, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header("X-Job-Id", jobId)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("id-cards-" + LocalDate.now() + ".zip").build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/id-cards/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getIdCardJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(idCardBatchService.getJobStatus(jobId));
+    }
+
+    // Org chart: everyone below an employee (depth limits the levels returned)
+    @GetMapping("/org-chart/{id}/reports")
+    public ResponseEntity<Map<String, Object>> getOrgChartReports(@PathVariable Long id,
+                                                                  @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok(orgChartIndexService.getSubtree(id, depth));
+    }
+
+    @GetMapping("/org-chart/{id}/chain")
+    public ResponseEntity<List<Map<String, Object>>> getChainOfCommand(@PathVariable Long id) {
+        return ResponseEntity.ok(orgChartIndexService.getChainOfCommand(id));
+    }
+
+    @GetMapping("/org-chart/{id}/span")
+    public ResponseEntity<Map<String, Object>> getSpanOfControl(@PathVariable Long id) {
+        return ResponseEntity.ok(orgChartIndexService.getSpanOfControl(id));
+    }
+
+    @GetMapping("/org-chart/{id}/reports-to/{managerId}")
+    public ResponseEntity<Map<String, Object>> reportsTo(@PathVariable Long id, @PathVariable Long managerId) {
+        return ResponseEntity.ok(Map.of("employeeId", id, "managerId", managerId,
+                "reportsTo", orgChartIndexService.reportsTo(id, managerId)));
+    }
     
     // Leave Management
     @Autowired
@@ -131,12 +257,24 @@ public class HRController {
     @Autowired
     private DepartmentService departmentService;
     
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+    
     @GetMapping("/leaves/pending")
     public ResponseEntity<List<LeaveRequestDto>> getPendingLeaves() {
         List<LeaveRequestDto> pendingLeaves = leaveRequestService.getAllPendingLeaves();
         return ResponseEntity.ok(pendingLeaves);
     }
     
+    // Recompute the leave balance ledger from the leave history; run it while leave activity is quiet
+    @PostMapping("/leave-balances/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildLeaveBalances() {
+        return leaveBalanceService.rebuild()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("error", "A leave balance rebuild is already running")));
+    }
+    
     // Department endpoints for HR
     @GetMapping("/departments")
     public ResponseEntity<List<DepartmentDto>> getAllDepartments() {
@@ -144,6 +282,16 @@ public class HRController {
         return ResponseEntity.ok(departments);
     }
     
+    @GetMapping("/departments/page")
+    public ResponseEntity<CursorPage<DepartmentDto>> getDepartmentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPage<DepartmentDto> page = departmentService.getDepartmentsPage(cursor, size, sort, includeTotal);
+        return ResponseEntity.ok(page);
+    }
+    
     // Recent employees endpoint for HR dashboard
     @GetMapping("/recent-employees")
     public ResponseEntity<List<EmployeeDto>> getRecentEmployees(@RequestParam(defaultValue = "2") int limit) {
@@ -20,17 +20,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.yourcompany.ems.config.CurrentEmployee;
 import com.yourcompany.ems.dto.EmployeeDto;
 import com.yourcompany.ems.dto.LeaveRequestDto;
 import com.yourcompany.ems.dto.PerformanceFeedbackDto;
 import com.yourcompany.ems.dto.ProjectDto;
-import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.service.AvailabilityHeatmapService;
 import com.yourcompany.ems.service.EmployeeService;
 import com.yourcompany.ems.service.LeaveRequestService;
 import com.yourcompany.ems.service.PerformanceFeedbackService;
 import com.yourcompany.ems.service.ProjectService;
+import com.yourcompany.ems.service.SkillIndexService;
 
 import jakarta.validation.Valid;
 
@@ -54,39 +57,28 @@ public class ManagerController {
     @Autowired
     private LeaveRequestService leaveRequestService;
 
+    @Autowired
+    private SkillIndexService skillIndexService;
+
+    @Autowired
+    private AvailabilityHeatmapService availabilityHeatmapService;
+
     /**
-     * Helper method to get the current manager's employee ID from JWT token
+     * Helper method to fall back to a fixed manager when no manager is logged in
      */
-    private Long getCurrentManagerId() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-                String username = userDetails.getUsername();
-                logger.debug("Getting manager ID for username: {}", username);
-                
-                // Get the employee record for this user
-                Employee manager = employeeService.getEmployeeEntityByUsername(username);
-                if (manager != null) {
-                    logger.debug("Found manager with ID: {}", manager.getId());
-                    return manager.getId();
-                } else {
-                    logger.warn("No employee record found for manager username: {}", username);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error getting current manager ID: ", e);
+    private Long orFallbackManager(Long managerId) {
+        if (managerId != null) {
+            return managerId;
         }
-        
         // Fallback for demo/testing
         logger.warn("Using fallback manager ID: 1");
         return 1L;
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<List<ProjectDto>> getDashboard() {
+    public ResponseEntity<List<ProjectDto>> getDashboard(@CurrentEmployee(required = false) Long currentManagerId) {
         try {
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             logger.info("Manager dashboard requested by manager ID: {}", managerId);
             List<ProjectDto> projects = projectService.getProjectsByManager(managerId);
             return ResponseEntity.ok(projects);
@@ -97,10 +89,10 @@ public class ManagerController {
     }
 
     @GetMapping("/test/current-manager")
-    public ResponseEntity<Object> getCurrentManagerInfo() {
+    public ResponseEntity<Object> getCurrentManagerInfo(@CurrentEmployee(required = false) Long currentManagerId) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             
             Map<String, Object> info = new HashMap<>();
             info.put("authenticated", authentication != null);
@@ -120,9 +112,9 @@ public class ManagerController {
 
     // Project management
     @GetMapping("/projects")
-    public ResponseEntity<List<ProjectDto>> getAssignedProjects() {
+    public ResponseEntity<List<ProjectDto>> getAssignedProjects(@CurrentEmployee(required = false) Long currentManagerId) {
         try {
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             logger.info("Getting projects for manager ID: {}", managerId);
             List<ProjectDto> projects = projectService.getProjectsByManager(managerId);
             logger.debug("Found {} projects for manager", projects.size());
@@ -134,10 +126,10 @@ public class ManagerController {
     }
 
     @GetMapping("/projects/{id}")
-    public ResponseEntity<ProjectDto> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectDto> getProjectById(@PathVariable Long id, @CurrentEmployee(required = false) Long currentManagerId) {
         try {
             // Verify this project belongs to the current manager
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             ProjectDto project = projectService.getProjectById(id);
             
             // Check if this manager owns this project
@@ -155,10 +147,10 @@ public class ManagerController {
     }
 
     @GetMapping("/projects/{id}/employees")
-    public ResponseEntity<List<EmployeeDto>> getProjectEmployees(@PathVariable Long id) {
+    public ResponseEntity<List<EmployeeDto>> getProjectEmployees(@PathVariable Long id, @CurrentEmployee(required = false) Long currentManagerId) {
         try {
             // Verify this project belongs to the current manager
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             ProjectDto project = projectService.getProjectById(id);
             
             // Check if this manager owns this project
@@ -177,9 +169,9 @@ public class ManagerController {
 
     // Employee management
     @GetMapping("/employees")
-    public ResponseEntity<List<EmployeeDto>> getSubordinates() {
+    public ResponseEntity<List<EmployeeDto>> getSubordinates(@CurrentEmployee(required = false) Long currentManagerId) {
         try {
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             logger.info("Getting subordinates for manager ID: {}", managerId);
             List<EmployeeDto> subordinates = employeeService.getEmployeesByManager(managerId);
             logger.debug("Found {} subordinates for manager", subordinates.size());
@@ -190,11 +182,19 @@ public class ManagerController {
         }
     }
 
+    // Staffing: q is a list of skills, mode=all (every term) or any (at least one)
+    @GetMapping("/employees/skill-search")
+    public ResponseEntity<Map<String, Object>> searchBySkills(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "all") String mode,
+                                                              @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(skillIndexService.search(q, SkillIndexService.Mode.from(mode), limit));
+    }
+
     // Performance Feedback
     @PostMapping("/feedback")
-    public ResponseEntity<PerformanceFeedbackDto> submitFeedback(@Valid @RequestBody PerformanceFeedbackDto feedbackDto) {
+    public ResponseEntity<PerformanceFeedbackDto> submitFeedback(@Valid @RequestBody PerformanceFeedbackDto feedbackDto, @CurrentEmployee(required = false) Long currentManagerId) {
         try {
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             feedbackDto.setManagerId(managerId);
             PerformanceFeedbackDto createdFeedback = feedbackService.createFeedback(feedbackDto);
             return ResponseEntity.ok(createdFeedback);
@@ -205,9 +205,9 @@ public class ManagerController {
     }
 
     @GetMapping("/feedback")
-    public ResponseEntity<List<PerformanceFeedbackDto>> getSubmittedFeedback() {
+    public ResponseEntity<List<PerformanceFeedbackDto>> getSubmittedFeedback(@CurrentEmployee(required = false) Long currentManagerId) {
         try {
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             List<PerformanceFeedbackDto> feedback = feedbackService.getFeedbackByManager(managerId);
             return ResponseEntity.ok(feedback);
         } catch (Exception e) {
@@ -230,9 +230,9 @@ public class ManagerController {
 
     // Leave Management
     @GetMapping("/leaves/pending")
-    public ResponseEntity<List<LeaveRequestDto>> getPendingLeaves() {
+    public ResponseEntity<List<LeaveRequestDto>> getPendingLeaves(@CurrentEmployee(required = false) Long currentManagerId) {
         try {
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             List<LeaveRequestDto> pendingLeaves = leaveRequestService.getPendingLeavesByManager(managerId);
             return ResponseEntity.ok(pendingLeaves);
         } catch (Exception e) {
@@ -241,6 +241,27 @@ public class ManagerController {
         }
     }
 
+    // Team availability on each day of a leave request, to check before approving it
+    @GetMapping("/leaves/{id}/coverage")
+    public ResponseEntity<Map<String, Object>> getLeaveCoverage(@PathVariable Long id) {
+        return ResponseEntity.ok(leaveRequestService.getTeamCoverage(id));
+    }
+
+    // Availability heatmaps: period is a month (2026-03) or a quarter (2026-Q1)
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Object>> getTeamAvailability(@RequestParam String period,
+                                                                   @RequestParam(defaultValue = "false") boolean directOnly,
+                                                                   @CurrentEmployee(required = false) Long currentManagerId) {
+        Long managerId = orFallbackManager(currentManagerId);
+        return ResponseEntity.ok(availabilityHeatmapService.getTeamHeatmap(managerId, period, directOnly));
+    }
+
+    @GetMapping("/availability/departments")
+    public ResponseEntity<Map<String, Object>> getDepartmentAvailability(@RequestParam String period,
+                                                                         @RequestParam(required = false) Long departmentId) {
+        return ResponseEntity.ok(availabilityHeatmapService.getDepartmentHeatmap(period, departmentId));
+    }
+
     @PutMapping("/leave/approve/{id}")
     public ResponseEntity<LeaveRequestDto> approveLeave(@PathVariable Long id) {
         LeaveRequestDto approvedLeave = leaveRequestService.approveLeave(id);
@@ -254,9 +275,9 @@ public class ManagerController {
     }
 
     @GetMapping("/leaves")
-    public ResponseEntity<List<LeaveRequestDto>> getAllLeaves() {
+    public ResponseEntity<List<LeaveRequestDto>> getAllLeaves(@CurrentEmployee(required = false) Long currentManagerId) {
         try {
-            Long managerId = getCurrentManagerId();
+            Long managerId = orFallbackManager(currentManagerId);
             List<LeaveRequestDto> allLeaves = leaveRequestService.getPendingLeavesByManager(managerId);
             return ResponseEntity.ok(allLeaves);
         } catch (Exception e) {
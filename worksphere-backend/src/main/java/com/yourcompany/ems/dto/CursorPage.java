@@ -0,0 +1,18 @@
+package com.yourcompany.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // null when there are no more rows
+    private boolean hasNext;
+    private int size;
+    private Long totalCount; // only populated when the client asks for it
+}
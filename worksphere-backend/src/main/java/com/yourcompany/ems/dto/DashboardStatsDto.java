@@ -0,0 +1,23 @@
+package com.yourcompany.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStatsDto {
+    private long totalEmployees;
+    private long totalHRs;
+    private long totalManagers;
+    private long totalProjects;
+    private long activeProjects;
+    private long pendingLeaves;
+    private Map<String, Long> roleCounts;           // ROLE_HR -> 12, ROLE_MANAGER -> 5, ...
+    private Map<String, Long> projectStatusCounts;  // ACTIVE -> 8, COMPLETED -> 3, ...
+    private Map<String, Long> leaveStatusCounts;    // PENDING -> 4, APPROVED -> 20, ...
+    private Map<String, Long> departmentHeadcounts; // Engineering -> 40, Finance -> 6, ...
+}
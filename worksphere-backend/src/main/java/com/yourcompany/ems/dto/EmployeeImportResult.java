@@ -0,0 +1,30 @@
+package com.yourcompany.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class EmployeeImportResult {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private int batches;
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>(); // capped, see errorsTruncated
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row; // 1-based record number, not counting the CSV header
+        private String email;
+        private String message;
+    }
+}
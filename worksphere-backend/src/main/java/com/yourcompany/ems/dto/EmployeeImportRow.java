@@ -0,0 +1,39 @@
+package com.yourcompany.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One record of a bulk employee import (a CSV row or an NDJSON line).
+ * The department is referenced by id or code, the manager by employee id or by email,
+ * which may belong to an employee imported earlier in the same file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportRow {
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String contact;
+    private String address;
+    private String city;
+    private String bloodGroup;
+    private String photoUrl;
+    private String skills;
+    private Integer experience;
+    private String education;
+    private String hobbies;
+    private String certifications;
+    private String achievements;
+    private LocalDate dateOfBirth;
+    private LocalDate dateOfJoining;
+    private String role; // HR, MANAGER or EMPLOYEE (default)
+    private Long departmentId;
+    private String departmentCode;
+    private Long managerId;
+    private String managerEmail;
+}
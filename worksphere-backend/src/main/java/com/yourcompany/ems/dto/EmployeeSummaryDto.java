@@ -0,0 +1,33 @@
+package com.yourcompany.ems.dto;
+
+import com.yourcompany.ems.entity.Role;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight employee row for directory/list views. Populated directly by
+ * constructor projection queries, so no Employee entities are hydrated.
+ */
+@Data
+@NoArgsConstructor
+public class EmployeeSummaryDto {
+    private Long id;
+    private String employeeId;
+    private String fullName;
+    private String email;
+    private String role;
+    private String departmentName;
+    private String managerName;
+
+    public EmployeeSummaryDto(Long id, String employeeId, String firstName, String lastName, String email,
+                              Role.RoleType role, String departmentName,
+                              String managerFirstName, String managerLastName) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.fullName = firstName + " " + lastName;
+        this.email = email;
+        this.role = role != null ? role.name() : null;
+        this.departmentName = departmentName;
+        this.managerName = managerFirstName != null ? managerFirstName + " " + managerLastName : null;
+    }
+}
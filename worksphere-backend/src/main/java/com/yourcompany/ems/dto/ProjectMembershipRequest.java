@@ -0,0 +1,15 @@
+package com.yourcompany.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectMembershipRequest {
+    private List<Long> assign;   // employee ids to add to the project
+    private List<Long> unassign; // employee ids to remove from the project
+}
@@ -0,0 +1,26 @@
+package com.yourcompany.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A colleague on at least one of the employee's projects, with the ids of the projects they share.
+ */
+@Data
+@NoArgsConstructor
+public class TeamMemberDto {
+    private Long id;
+    private String employeeId;
+    private String firstName;
+    private String lastName;
+    private String fullName;
+    private String email;
+    private String contact;
+    private String photoUrl;
+    private String role;
+    private String departmentName;
+    private List<Long> sharedProjectIds = new ArrayList<>();
+}
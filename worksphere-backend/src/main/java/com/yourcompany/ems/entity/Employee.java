@@ -12,6 +12,27 @@ import java.util.List;
 
 @Entity
 @Table(name = "employees")
+@NamedEntityGraph(
+    name = "Employee.summary",
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("manager"),
+        @NamedAttributeNode("department")
+    }
+)
+@NamedEntityGraph(
+    name = "Employee.detail",
+    attributeNodes = {
+        @NamedAttributeNode(value = "user", subgraph = "user.roles"),
+        @NamedAttributeNode("manager"),
+        @NamedAttributeNode("department"),
+        @NamedAttributeNode(value = "projects", subgraph = "projects.manager")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "user.roles", attributeNodes = @NamedAttributeNode("roles")),
+        @NamedSubgraph(name = "projects.manager", attributeNodes = @NamedAttributeNode("manager"))
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
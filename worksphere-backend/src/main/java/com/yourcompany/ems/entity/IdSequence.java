@@ -0,0 +1,25 @@
+package com.yourcompany.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * High-water mark of a business code sequence (EMP, PRJ). Each node leases a block of
+ * numbers by advancing nextValue under a row lock and hands them out from memory.
+ */
+@Entity
+@Table(name = "id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSequence {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,43 @@
+package com.yourcompany.ems.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running leave totals of one employee for one calendar year and leave type. Updated in the same
+ * transaction as the leave request whose status changed; rebuilt from leave_requests on demand.
+ */
+@Entity
+@Table(name = "leave_balances",
+       uniqueConstraints = @UniqueConstraint(name = "uk_leave_balance_employee_year_type",
+               columnNames = {"employee_id", "balance_year", "leave_type"}))
+@Data
+@NoArgsConstructor
+public class LeaveBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "balance_year", nullable = false)
+    private int year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 32)
+    private LeaveRequest.LeaveType leaveType;
+
+    @Column(nullable = false)
+    private int approvedDays = 0;
+
+    @Column(nullable = false)
+    private int pendingDays = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
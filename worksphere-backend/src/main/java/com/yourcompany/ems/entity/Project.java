@@ -41,11 +41,14 @@ public class Project {
     @JoinColumn(name = "manager_id")
     private Employee manager;
     
+    // Read-only in practice: membership changes go through ProjectRepository.addMembers/removeMembers,
+    // since changing this bag makes Hibernate delete and re-insert every row of the project
     @ManyToMany
     @JoinTable(
         name = "project_employees",
         joinColumns = @JoinColumn(name = "project_id"),
-        inverseJoinColumns = @JoinColumn(name = "employee_id")
+        inverseJoinColumns = @JoinColumn(name = "employee_id"),
+        uniqueConstraints = @UniqueConstraint(columnNames = {"project_id", "employee_id"})
     )
     private List<Employee> employees = new ArrayList<>();
     
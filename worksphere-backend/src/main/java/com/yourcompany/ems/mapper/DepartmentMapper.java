@@ -0,0 +1,40 @@
+package com.yourcompany.ems.mapper;
+
+import com.yourcompany.ems.dto.DepartmentDto;
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.entity.Employee;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.IterableMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface DepartmentMapper {
+
+    @Mapping(target = "employees", source = "employees", qualifiedByName = "departmentMembers")
+    DepartmentDto toDto(Department department);
+
+    // Employees are managed through the employee endpoints; timestamps keep their entity defaults
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "employees", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Department toEntity(DepartmentDto departmentDto);
+
+    @Named("departmentMembers")
+    @IterableMapping(qualifiedByName = "departmentMember")
+    List<EmployeeDto> toMemberDtos(List<Employee> employees);
+
+    @Named("departmentMember")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "firstName", source = "firstName")
+    @Mapping(target = "lastName", source = "lastName")
+    @Mapping(target = "email", source = "email")
+    @Mapping(target = "employeeId", source = "employeeId")
+    EmployeeDto toMemberDto(Employee employee);
+}
@@ -0,0 +1,25 @@
+package com.yourcompany.ems.mapper;
+
+import com.yourcompany.ems.dto.LeaveRequestDto;
+import com.yourcompany.ems.entity.LeaveRequest;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface LeaveRequestMapper {
+
+    @Mapping(target = "employeeId", source = "employee.id")
+    @Mapping(target = "employeeName", source = "employee.fullName")
+    @Mapping(target = "managerId", source = "manager.id")
+    @Mapping(target = "managerName", source = "manager.fullName")
+    LeaveRequestDto toDto(LeaveRequest leaveRequest);
+
+    // Employee, manager and status are resolved by the service; timestamps keep their entity defaults
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "employee", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    LeaveRequest toEntity(LeaveRequestDto leaveRequestDto);
+}
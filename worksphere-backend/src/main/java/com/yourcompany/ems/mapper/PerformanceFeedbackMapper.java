@@ -0,0 +1,24 @@
+package com.yourcompany.ems.mapper;
+
+import com.yourcompany.ems.dto.PerformanceFeedbackDto;
+import com.yourcompany.ems.entity.PerformanceFeedback;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface PerformanceFeedbackMapper {
+
+    @Mapping(target = "managerId", source = "manager.id")
+    @Mapping(target = "managerName", source = "manager.fullName")
+    @Mapping(target = "employeeId", source = "employee.id")
+    @Mapping(target = "employeeName", source = "employee.fullName")
+    PerformanceFeedbackDto toDto(PerformanceFeedback feedback);
+
+    // Manager and employee are resolved by the service; timestamps keep their entity defaults
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "employee", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    PerformanceFeedback toEntity(PerformanceFeedbackDto feedbackDto);
+}
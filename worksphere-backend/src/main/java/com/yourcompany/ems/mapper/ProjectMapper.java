@@ -0,0 +1,41 @@
+package com.yourcompany.ems.mapper;
+
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.ProjectDto;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.Project;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.IterableMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ProjectMapper {
+
+    @Mapping(target = "managerId", source = "manager.id")
+    @Mapping(target = "managerName", source = "manager.fullName")
+    @Mapping(target = "employees", source = "employees", qualifiedByName = "projectMembers")
+    ProjectDto toDto(Project project);
+
+    @Named("projectMembers")
+    @IterableMapping(qualifiedByName = "projectMember")
+    List<EmployeeDto> toMemberDtos(List<Employee> employees);
+
+    // Project members only carry identity, manager and department information
+    @Named("projectMember")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "firstName", source = "firstName")
+    @Mapping(target = "lastName", source = "lastName")
+    @Mapping(target = "email", source = "email")
+    @Mapping(target = "employeeId", source = "employeeId")
+    @Mapping(target = "fullName", source = "fullName")
+    @Mapping(target = "managerId", source = "manager.id")
+    @Mapping(target = "managerName", source = "manager.fullName")
+    @Mapping(target = "departmentId", source = "department.id")
+    @Mapping(target = "departmentName", source = "department.name")
+    EmployeeDto toMemberDto(Employee employee);
+}
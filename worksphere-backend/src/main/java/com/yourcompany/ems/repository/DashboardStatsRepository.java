@@ -0,0 +1,37 @@
+package com.yourcompany.ems.repository;
+
+import com.yourcompany.ems.entity.Employee;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Read-only aggregate queries for the admin and HR dashboards.
+ * All histograms are fetched with a single UNION ALL statement so a dashboard
+ * refresh costs one database round trip regardless of table sizes.
+ */
+@Repository
+public interface DashboardStatsRepository extends org.springframework.data.repository.Repository<Employee, Long> {
+
+    interface CountRow {
+        String getCategory();
+        String getBucket();
+        Number getTotal();
+    }
+
+    @Query(value =
+            "SELECT 'EMPLOYEES' AS category, 'TOTAL' AS bucket, COUNT(*) AS total FROM employees e " +
+            "WHERE e.user_id NOT IN (SELECT ur.user_id FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE r.name = 'ROLE_ADMIN') " +
+            "UNION ALL " +
+            "SELECT 'ROLE', r.name, COUNT(*) FROM employees e " +
+            "JOIN user_roles ur ON ur.user_id = e.user_id JOIN roles r ON r.id = ur.role_id GROUP BY r.name " +
+            "UNION ALL " +
+            "SELECT 'PROJECT_STATUS', p.status, COUNT(*) FROM projects p GROUP BY p.status " +
+            "UNION ALL " +
+            "SELECT 'LEAVE_STATUS', l.status, COUNT(*) FROM leave_requests l GROUP BY l.status " +
+            "UNION ALL " +
+            "SELECT 'DEPARTMENT', d.name, COUNT(e.id) FROM departments d LEFT JOIN employees e ON e.department_id = d.id GROUP BY d.name",
+            nativeQuery = true)
+    List<CountRow> fetchDashboardCounts();
+}
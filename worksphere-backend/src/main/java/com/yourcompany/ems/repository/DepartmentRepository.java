@@ -1,6 +1,8 @@
 package com.yourcompany.ems.repository;
 
 import com.yourcompany.ems.entity.Department;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +14,8 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByCode(String code);
     boolean existsByName(String name);
     boolean existsByCode(String code);
+    
+    // Keyset pagination (sort must be on id)
+    Slice<Department> findByIdGreaterThan(Long id, Pageable pageable);
+    Slice<Department> findByIdLessThan(Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -1,13 +1,22 @@
 package com.yourcompany.ems.repository;
 
+import com.yourcompany.ems.dto.EmployeeSummaryDto;
 import com.yourcompany.ems.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
@@ -15,6 +24,86 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByUserUsername(String username);
     Optional<Employee> findByEmail(String email);
     List<Employee> findByManagerId(Long managerId);
+
+    // Id-only lookups for resolving the current employee without loading the entity
+    @Query("SELECT e.id FROM Employee e WHERE e.user.username = :username")
+    Optional<Long> findIdByUserUsername(String username);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.email = :email")
+    Optional<Long> findIdByEmail(String email);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    // [email, id] pairs of every employee, used to resolve managers during bulk imports
+    @Query("SELECT e.email, e.id FROM Employee e")
+    List<Object[]> findAllEmailsAndIds();
+
+    // [id, employeeId, firstName, lastName, skills, certifications, education] rows for the skill index
+    @Query("SELECT e.id, e.employeeId, e.firstName, e.lastName, e.skills, e.certifications, e.education FROM Employee e")
+    List<Object[]> findAllForSkillIndex();
+
+    @Query("SELECT e.id, e.employeeId, e.firstName, e.lastName, e.skills, e.certifications, e.education FROM Employee e WHERE e.id IN :ids")
+    List<Object[]> findForSkillIndexByIdIn(Collection<Long> ids);
+
+    // One row per (teammate, shared project, role): everyone on a project with the employee
+    @Query("SELECT t.id, t.employeeId, t.firstName, t.lastName, t.email, t.contact, t.photoUrl, r.name, d.name, p.id " +
+           "FROM Project p JOIN p.employees me JOIN p.employees t LEFT JOIN t.department d " +
+           "LEFT JOIN t.user u LEFT JOIN u.roles r " +
+           "WHERE me.id = :employeeId AND t.id <> :employeeId ORDER BY t.firstName, t.lastName, t.id, p.id")
+    List<Object[]> findTeamMemberRows(Long employeeId);
+
+    // [id, departmentId, departmentName] of employees with a department; a null departmentId means all
+    @Query("SELECT e.id, d.id, d.name FROM Employee e JOIN e.department d " +
+           "WHERE (:departmentId IS NULL OR d.id = :departmentId) ORDER BY d.name, e.id")
+    List<Object[]> findDepartmentMemberships(Long departmentId);
+
+    // [id, managerId] of every employee, used to build the org chart index
+    @Query("SELECT e.id, m.id FROM Employee e LEFT JOIN e.manager m")
+    List<Object[]> findAllManagerLinks();
+
+    // [id, employeeId, firstName, lastName, departmentName] rows for org chart responses
+    @Query("SELECT e.id, e.employeeId, e.firstName, e.lastName, d.name FROM Employee e LEFT JOIN e.department d WHERE e.id IN :ids")
+    List<Object[]> findOrgChartRowsByIdIn(Collection<Long> ids);
+
+    // Exports read through a cursor (fetch size 500) instead of loading the whole table; the caller
+    // must consume the stream inside a transaction and close it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user LEFT JOIN FETCH e.department LEFT JOIN FETCH e.manager ORDER BY e.id")
+    Stream<Employee> streamAllForExport();
+    
+    // Fetch-graph variants used when converting to EmployeeDto, so the associations
+    // read by convertToDto are loaded with the employees instead of one query per row.
+    // Paged queries use the summary graph (no collections) so the limit stays in SQL;
+    // remaining collections are loaded in batches (hibernate.default_batch_fetch_size).
+    @EntityGraph("Employee.detail")
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findDetailById(Long id);
+    
+    @EntityGraph("Employee.summary")
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findSummaryById(Long id);
+    
+    @EntityGraph("Employee.summary")
+    @Query("SELECT e FROM Employee e WHERE e.id IN :ids ORDER BY e.id")
+    List<Employee> findSummaryByIdIn(Collection<Long> ids);
+    
+    // Employees selected for a bulk ID card run; null filters are ignored
+    @Query("SELECT e.id FROM Employee e WHERE (:departmentId IS NULL OR e.department.id = :departmentId) " +
+           "AND (:joinedFrom IS NULL OR e.dateOfJoining >= :joinedFrom) " +
+           "AND (:joinedTo IS NULL OR e.dateOfJoining <= :joinedTo) ORDER BY e.id")
+    List<Long> findIdsForIdCards(Long departmentId, LocalDate joinedFrom, LocalDate joinedTo);
+    
+    @EntityGraph("Employee.detail")
+    @Query("SELECT e FROM Employee e WHERE e.manager.id = :managerId")
+    List<Employee> findTeamByManagerId(Long managerId);
+    
+    @EntityGraph("Employee.detail")
+    @Query("SELECT e FROM Employee e WHERE e.user.id NOT IN (SELECT u.id FROM User u JOIN u.roles r WHERE r.name = 'ROLE_ADMIN')")
+    List<Employee> findAllNonAdminEmployeesForList();
     
     @Query("SELECT e FROM Employee e JOIN e.user.roles r WHERE r.name = 'ROLE_HR' AND r.name != 'ROLE_ADMIN'")
     List<Employee> findAllHRs();
@@ -29,12 +118,49 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e WHERE e.user.id NOT IN (SELECT u.id FROM User u JOIN u.roles r WHERE r.name = 'ROLE_ADMIN')")
     List<Employee> findAllNonAdminEmployees();
     
+    // Keyset pagination over non-admin employees (sort must be on id)
+    @EntityGraph("Employee.summary")
+    @Query("SELECT e FROM Employee e WHERE e.id > :afterId AND e.user.id NOT IN (SELECT u.id FROM User u JOIN u.roles r WHERE r.name = 'ROLE_ADMIN')")
+    Slice<Employee> findNonAdminEmployeesAfter(Long afterId, Pageable pageable);
+    
+    @EntityGraph("Employee.summary")
+    @Query("SELECT e FROM Employee e WHERE e.id < :beforeId AND e.user.id NOT IN (SELECT u.id FROM User u JOIN u.roles r WHERE r.name = 'ROLE_ADMIN')")
+    Slice<Employee> findNonAdminEmployeesBefore(Long beforeId, Pageable pageable);
+    
+    // Directory projections: only the summary columns, no managed entities. One row per employee,
+    // so users with several roles show the first role by name and keyset pages stay exact.
+    @Query("SELECT new com.yourcompany.ems.dto.EmployeeSummaryDto(e.id, e.employeeId, e.firstName, e.lastName, e.email, " +
+           "(SELECT MIN(r.name) FROM User ru JOIN ru.roles r WHERE ru = u), d.name, m.firstName, m.lastName) " +
+           "FROM Employee e JOIN e.user u LEFT JOIN e.department d LEFT JOIN e.manager m " +
+           "WHERE u.id NOT IN (SELECT au.id FROM User au JOIN au.roles ar WHERE ar.name = 'ROLE_ADMIN')")
+    List<EmployeeSummaryDto> findAllNonAdminEmployeeSummaries();
+    
+    @Query("SELECT new com.yourcompany.ems.dto.EmployeeSummaryDto(e.id, e.employeeId, e.firstName, e.lastName, e.email, " +
+           "(SELECT MIN(r.name) FROM User ru JOIN ru.roles r WHERE ru = u), d.name, m.firstName, m.lastName) " +
+           "FROM Employee e JOIN e.user u LEFT JOIN e.department d LEFT JOIN e.manager m " +
+           "WHERE e.id > :afterId AND u.id NOT IN (SELECT au.id FROM User au JOIN au.roles ar WHERE ar.name = 'ROLE_ADMIN')")
+    Slice<EmployeeSummaryDto> findNonAdminEmployeeSummariesAfter(Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.yourcompany.ems.dto.EmployeeSummaryDto(e.id, e.employeeId, e.firstName, e.lastName, e.email, " +
+           "(SELECT MIN(r.name) FROM User ru JOIN ru.roles r WHERE ru = u), d.name, m.firstName, m.lastName) " +
+           "FROM Employee e JOIN e.user u LEFT JOIN e.department d LEFT JOIN e.manager m " +
+           "WHERE e.id < :beforeId AND u.id NOT IN (SELECT au.id FROM User au JOIN au.roles ar WHERE ar.name = 'ROLE_ADMIN')")
+    Slice<EmployeeSummaryDto> findNonAdminEmployeeSummariesBefore(Long beforeId, Pageable pageable);
+    
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.user.id NOT IN (SELECT u.id FROM User u JOIN u.roles r WHERE r.name = 'ROLE_ADMIN')")
+    long countNonAdminEmployees();
+    
     // Find recently added employees ordered by creation date
     List<Employee> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
-    // Find employee with the highest employee ID number (for auto-increment)
-    @Query("SELECT e.employeeId FROM Employee e WHERE e.employeeId LIKE 'EMP%' AND LENGTH(e.employeeId) >= 6 ORDER BY CAST(SUBSTRING(e.employeeId, 4) AS INTEGER) DESC")
-    List<String> findTopEmployeeIdsByPattern(Pageable pageable);
+    // Find recently added non-admin employees, limited by the pageable
+    @EntityGraph("Employee.summary")
+    @Query("SELECT e FROM Employee e WHERE e.user.id NOT IN (SELECT u.id FROM User u JOIN u.roles r WHERE r.name = 'ROLE_ADMIN') ORDER BY e.createdAt DESC")
+    List<Employee> findRecentNonAdminEmployees(Pageable pageable);
+    
+    // Existing EMP codes, read once to seed the EMP id sequence
+    @Query("SELECT e.employeeId FROM Employee e WHERE e.employeeId LIKE 'EMP%'")
+    List<String> findAllEmployeeIdsWithPrefix();
     
     // Find employee with the highest employee ID (for auto-increment)
     Optional<Employee> findTopByOrderByEmployeeIdDesc();
@@ -0,0 +1,27 @@
+package com.yourcompany.ems.repository;
+
+import com.yourcompany.ems.entity.LeaveBalance;
+import com.yourcompany.ems.entity.LeaveRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+    Optional<LeaveBalance> findByEmployeeIdAndYearAndLeaveType(Long employeeId, int year, LeaveRequest.LeaveType leaveType);
+    List<LeaveBalance> findByEmployeeIdAndYear(Long employeeId, int year);
+
+    // Adds to the totals in one statement, creating the row on first use. The unique key on
+    // (employee_id, balance_year, leave_type) makes concurrent transitions queue on the row lock.
+    @Modifying
+    @Query(value = "INSERT INTO leave_balances (employee_id, balance_year, leave_type, approved_days, pending_days, updated_at) " +
+                   "VALUES (:employeeId, :year, :leaveType, :approvedDays, :pendingDays, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE approved_days = approved_days + VALUES(approved_days), " +
+                   "pending_days = pending_days + VALUES(pending_days), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int addDays(Long employeeId, int year, String leaveType, int approvedDays, int pendingDays);
+}
@@ -1,10 +1,16 @@
 package com.yourcompany.ems.repository;
 
 import com.yourcompany.ems.entity.LeaveRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
@@ -13,4 +19,20 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     List<LeaveRequest> findByManagerIdAndStatus(Long managerId, LeaveRequest.LeaveStatus status);
     List<LeaveRequest> findByEmployeeIdAndStatus(Long employeeId, LeaveRequest.LeaveStatus status);
     List<LeaveRequest> findByStatus(LeaveRequest.LeaveStatus status);
+
+    // [id, employeeId, startDate, endDate, status] rows for the leave calendar
+    @Query("SELECT l.id, l.employee.id, l.startDate, l.endDate, l.status FROM LeaveRequest l WHERE l.status IN :statuses")
+    List<Object[]> findCalendarRows(Collection<LeaveRequest.LeaveStatus> statuses);
+
+    @Query("SELECT l.id, l.employee.id, l.startDate, l.endDate, l.status FROM LeaveRequest l " +
+           "WHERE l.employee.id = :employeeId AND l.status IN :statuses")
+    List<Object[]> findCalendarRowsByEmployeeId(Long employeeId, Collection<LeaveRequest.LeaveStatus> statuses);
+
+    // Export cursor, see EmployeeRepository.streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM LeaveRequest l JOIN FETCH l.employee JOIN FETCH l.manager ORDER BY l.id")
+    Stream<LeaveRequest> streamAllForExport();
 }
\ No newline at end of file
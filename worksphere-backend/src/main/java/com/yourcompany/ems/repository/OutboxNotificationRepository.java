@@ -0,0 +1,38 @@
+package com.yourcompany.ems.repository;
+
+import com.yourcompany.ems.entity.OutboxNotification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxNotificationRepository extends JpaRepository<OutboxNotification, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): dispatchers on other nodes pass over rows claimed here
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT n FROM OutboxNotification n WHERE n.status = 'PENDING' AND n.nextAttemptAt <= :now ORDER BY n.id")
+    List<OutboxNotification> findDueForUpdate(LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxNotification n SET n.status = 'SENT', n.attempts = n.attempts + 1, n.sentAt = :sentAt, " +
+           "n.lastError = null WHERE n.id = :id")
+    int markSent(Long id, LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE OutboxNotification n SET n.status = :status, n.attempts = :attempts, n.nextAttemptAt = :nextAttemptAt, " +
+           "n.lastError = :lastError WHERE n.id = :id")
+    int markFailedAttempt(Long id, OutboxNotification.Status status, int attempts, LocalDateTime nextAttemptAt, String lastError);
+
+    long countByStatus(OutboxNotification.Status status);
+}
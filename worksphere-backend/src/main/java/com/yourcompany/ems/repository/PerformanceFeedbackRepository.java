@@ -1,14 +1,27 @@
 package com.yourcompany.ems.repository;
 
 import com.yourcompany.ems.entity.PerformanceFeedback;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PerformanceFeedbackRepository extends JpaRepository<PerformanceFeedback, Long> {
     List<PerformanceFeedback> findByEmployeeId(Long employeeId);
     List<PerformanceFeedback> findByManagerId(Long managerId);
     List<PerformanceFeedback> findByEmployeeIdAndSprintNumber(Long employeeId, String sprintNumber);
+
+    // Export cursor, see EmployeeRepository.streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM PerformanceFeedback f JOIN FETCH f.employee JOIN FETCH f.manager ORDER BY f.id")
+    Stream<PerformanceFeedback> streamAllForExport();
 } 
\ No newline at end of file
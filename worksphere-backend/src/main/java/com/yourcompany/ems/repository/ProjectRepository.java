@@ -1,12 +1,20 @@
 package com.yourcompany.ems.repository;
 
 import com.yourcompany.ems.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -14,8 +22,41 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByManagerId(Long managerId);
     List<Project> findByStatus(Project.ProjectStatus status);
     
+    // Keyset pagination (sort must be on id)
+    Slice<Project> findByIdGreaterThan(Long id, Pageable pageable);
+    Slice<Project> findByIdLessThan(Long id, Pageable pageable);
+    
     @Query("SELECT p FROM Project p JOIN p.employees e WHERE e.id = :employeeId")
     List<Project> findByEmployeeId(Long employeeId);
+
+    @Query("SELECT e.id FROM Project p JOIN p.employees e WHERE p.id = :projectId")
+    List<Long> findMemberIds(Long projectId);
     
     boolean existsByProjectCode(String projectCode);
+
+    // Membership is changed with direct join-table statements, touching only the affected rows.
+    // Adding skips unknown employees and existing members, so it is safe to repeat.
+    @Modifying
+    @Query(value = "INSERT INTO project_employees (project_id, employee_id) "
+            + "SELECT :projectId, e.id FROM employees e WHERE e.id IN (:employeeIds) "
+            + "AND NOT EXISTS (SELECT 1 FROM project_employees pe WHERE pe.project_id = :projectId AND pe.employee_id = e.id)",
+            nativeQuery = true)
+    int addMembers(Long projectId, Collection<Long> employeeIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM project_employees WHERE project_id = :projectId AND employee_id IN (:employeeIds)",
+            nativeQuery = true)
+    int removeMembers(Long projectId, Collection<Long> employeeIds);
+
+    // Existing PRJ codes, read once to seed the PRJ id sequence
+    @Query("SELECT p.projectCode FROM Project p WHERE p.projectCode LIKE 'PRJ%'")
+    List<String> findAllProjectCodesWithPrefix();
+
+    // Export cursor, see EmployeeRepository.streamAllForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.manager ORDER BY p.id")
+    Stream<Project> streamAllForExport();
 } 
\ No newline at end of file
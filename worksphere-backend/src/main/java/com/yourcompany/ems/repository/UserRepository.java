@@ -2,8 +2,10 @@ package com.yourcompany.ems.repository;
 
 import com.yourcompany.ems.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // [username, email] pairs of every user, used for uniqueness checks during bulk imports
+    @Query("SELECT u.username, u.email FROM User u")
+    List<Object[]> findAllUsernamesAndEmails();
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.yourcompany.ems.service;
 
+import com.yourcompany.ems.config.JwtUserPrincipal;
 import com.yourcompany.ems.dto.LoginRequest;
 import com.yourcompany.ems.dto.LoginResponse;
 import com.yourcompany.ems.dto.SignupRequest;
@@ -7,7 +8,6 @@ import com.yourcompany.ems.entity.Employee;
 import com.yourcompany.ems.entity.Role;
 import com.yourcompany.ems.entity.User;
 import com.yourcompany.ems.repository.EmployeeRepository;
-import com.yourcompany.ems.repository.RoleRepository;
 import com.yourcompany.ems.repository.UserRepository;
 import com.yourcompany.ems.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,8 +23,6 @@ import org.slf4j.LoggerFactory;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.List;
-import org.springframework.data.domain.PageRequest;
 
 @Service
 public class AuthService {
@@ -44,11 +42,23 @@ public class AuthService {
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private IdAllocatorService idAllocatorService;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private OrgChartIndexService orgChartIndexService;
+
     public LoginResponse login(LoginRequest loginRequest) {
         logger.info("🔐 Login attempt for: {}", loginRequest.getEmail());
         
@@ -60,11 +70,14 @@ public class AuthService {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         logger.info("📝 UserDetails username: {}", userDetails.getUsername());
         
-        String token = jwtUtil.generateToken(userDetails);
-        logger.info("🔑 JWT token generated");
-
         User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
         logger.info("👤 User lookup result: {}", user != null ? "Found (ID: " + user.getId() + ")" : "NOT FOUND");
+
+        // Embed id, roles and token version so later requests authenticate without a user lookup
+        String token = user != null
+                ? jwtUtil.generateToken(userDetails, user.getId(), tokenVersionService.currentVersion(user.getId()))
+                : jwtUtil.generateToken(userDetails);
+        logger.info("🔑 JWT token generated");
         
         Employee employee = employeeRepository.findByUserUsername(userDetails.getUsername()).orElse(null);
         logger.info("👷 Employee lookup result: {}", employee != null ? "Found (ID: " + employee.getId() + ")" : "NOT FOUND");
@@ -98,6 +111,20 @@ public class AuthService {
         );
     }
 
+    /**
+     * Revoke every token issued to the authenticated user.
+     */
+    public void logout(Authentication authentication) {
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
+        if (principal instanceof JwtUserPrincipal) {
+            tokenVersionService.revokeTokens(((JwtUserPrincipal) principal).getUserId());
+        } else if (principal instanceof User) {
+            tokenVersionService.revokeTokens(((User) principal).getId());
+        } else {
+            throw new RuntimeException("No authenticated user");
+        }
+    }
+
     public void signup(SignupRequest signupRequest) {
         // Check if email already exists
         if (userRepository.findByEmail(signupRequest.getEmail()).isPresent()) {
@@ -116,7 +143,7 @@ public class AuthService {
         Set<Role> roles = new HashSet<>();
         try {
             Role.RoleType roleType = Role.RoleType.valueOf("ROLE_" + signupRequest.getRole());
-            Role role = roleRepository.findByName(roleType).orElse(null);
+            Role role = referenceDataRegistry.findRole(roleType).orElse(null);
             if (role != null) {
                 roles.add(role);
             } else {
@@ -134,12 +161,14 @@ public class AuthService {
         if (!signupRequest.getRole().equals("ADMIN")) {
             Employee employee = new Employee();
             employee.setUser(user);
-            employee.setEmployeeId(generateNextEmployeeId());
+            employee.setEmployeeId(idAllocatorService.nextEmployeeId());
             employee.setFirstName(signupRequest.getFirstName());
             employee.setLastName(signupRequest.getLastName());
             employee.setEmail(user.getEmail());
             employee.setContact(""); // Default empty contact
-            employeeRepository.save(employee);
+            employee = employeeRepository.save(employee);
+            orgChartIndexService.setManager(employee.getId(), null);
+            dashboardCounterService.employeeAdded("ROLE_" + signupRequest.getRole(), null);
         }
     }
 
@@ -150,34 +179,4 @@ public class AuthService {
         if (roles.contains("ROLE_EMPLOYEE")) return "EMPLOYEE";
         return "USER";
     }
-
-    private String generateNextEmployeeId() {
-        // Get the highest employee ID number using proper numeric sorting
-        List<String> topEmployeeIds = employeeRepository.findTopEmployeeIdsByPattern(PageRequest.of(0, 1));
-        
-        String lastEmployeeId;
-        if (topEmployeeIds.isEmpty()) {
-            lastEmployeeId = "EMP000"; // Default if no employees exist
-        } else {
-            lastEmployeeId = topEmployeeIds.get(0);
-        }
-        
-        // Extract the numeric part and increment
-        String numericPart = lastEmployeeId.substring(3); // Remove "EMP" prefix
-        int nextNumber;
-        try {
-            nextNumber = Integer.parseInt(numericPart) + 1;
-        } catch (NumberFormatException e) {
-            // If parsing fails, start from 1
-            nextNumber = 1;
-        }
-        
-        // Format with leading zeros to maintain EMP001, EMP002, etc.
-        return String.format("EMP%03d", nextNumber);
-    }
-    
-    private String generateEmployeeId() {
-        // Legacy method - kept for backward compatibility
-        return generateNextEmployeeId();
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Month or quarter availability heatmaps: per-day counts of employees on approved leave and of
+ * those available, for a manager's team or per department.
+ *
+ * Leave days come from the {@link LeaveCalendarService} bitsets and team membership from the
+ * {@link OrgChartIndexService}. No leave request is loaded. A department heatmap costs one id
+ * query for the members.
+ */
+@Service
+public class AvailabilityHeatmapService {
+
+    private static final Pattern QUARTER = Pattern.compile("(\\d{4})-Q([1-4])", Pattern.CASE_INSENSITIVE);
+
+    private final LeaveCalendarService leaveCalendarService;
+    private final OrgChartIndexService orgChartIndexService;
+    private final EmployeeRepository employeeRepository;
+
+    @Autowired
+    public AvailabilityHeatmapService(LeaveCalendarService leaveCalendarService,
+                                      OrgChartIndexService orgChartIndexService,
+                                      EmployeeRepository employeeRepository) {
+        this.leaveCalendarService = leaveCalendarService;
+        this.orgChartIndexService = orgChartIndexService;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Heatmap of everyone below the manager, or only of the direct reports.
+     */
+    public Map<String, Object> getTeamHeatmap(Long managerId, String period, boolean directOnly) {
+        LocalDate[] range = parsePeriod(period);
+        Map<String, Object> heatmap = header(period, range);
+        heatmap.put("managerId", managerId);
+        heatmap.put("directOnly", directOnly);
+        heatmap.putAll(counts(orgChartIndexService.getReportIds(managerId, directOnly), range));
+        return heatmap;
+    }
+
+    /**
+     * One heatmap row per department, or only the given department.
+     */
+    public Map<String, Object> getDepartmentHeatmap(String period, Long departmentId) {
+        LocalDate[] range = parsePeriod(period);
+        Map<Long, String> names = new LinkedHashMap<>();
+        Map<Long, List<Long>> members = new LinkedHashMap<>();
+        for (Object[] row : employeeRepository.findDepartmentMemberships(departmentId)) {
+            Long id = (Long) row[1];
+            names.put(id, (String) row[2]);
+            members.computeIfAbsent(id, key -> new ArrayList<>()).add((Long) row[0]);
+        }
+
+        List<Map<String, Object>> departments = new ArrayList<>(members.size());
+        members.forEach((id, employeeIds) -> {
+            Map<String, Object> department = new LinkedHashMap<>();
+            department.put("departmentId", id);
+            department.put("departmentName", names.get(id));
+            department.putAll(counts(employeeIds.stream().mapToLong(Long::longValue).toArray(), range));
+            departments.add(department);
+        });
+
+        Map<String, Object> heatmap = header(period, range);
+        heatmap.put("departments", departments);
+        return heatmap;
+    }
+
+    private Map<String, Object> counts(long[] employeeIds, LocalDate[] range) {
+        int[] onLeave = leaveCalendarService.countApprovedLeave(employeeIds, range[0], range[1]);
+        int[] available = new int[onLeave.length];
+        for (int day = 0; day < onLeave.length; day++) {
+            available[day] = employeeIds.length - onLeave[day];
+        }
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("headcount", employeeIds.length);
+        counts.put("onLeave", onLeave);
+        counts.put("available", available);
+        return counts;
+    }
+
+    private static Map<String, Object> header(String period, LocalDate[] range) {
+        Map<String, Object> heatmap = new LinkedHashMap<>();
+        heatmap.put("period", period);
+        heatmap.put("from", range[0]);
+        heatmap.put("to", range[1]);
+        heatmap.put("days", range[1].toEpochDay() - range[0].toEpochDay() + 1);
+        return heatmap;
+    }
+
+    /**
+     * "2026-03" is a month and "2026-Q1" a quarter. Returns the first and last day.
+     */
+    static LocalDate[] parsePeriod(String period) {
+        if (period == null || period.isBlank()) {
+            throw new RuntimeException("A period is required, e.g. 2026-03 or 2026-Q1");
+        }
+        Matcher quarter = QUARTER.matcher(period.trim());
+        if (quarter.matches()) {
+            YearMonth first = YearMonth.of(Integer.parseInt(quarter.group(1)), Integer.parseInt(quarter.group(2)) * 3 - 2);
+            return new LocalDate[]{first.atDay(1), first.plusMonths(2).atEndOfMonth()};
+        }
+        try {
+            YearMonth month = YearMonth.parse(period.trim());
+            return new LocalDate[]{month.atDay(1), month.atEndOfMonth()};
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid period: " + period + ". Use a month (2026-03) or a quarter (2026-Q1)");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.DashboardStatsDto;
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.entity.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory dashboard counters. Seeded from the database at startup and then kept up to date
+ * by the services that create, delete or change the status of employees, projects and leaves,
+ * so dashboard reads never hit the database. A scheduled job recomputes the counters from the
+ * database and publishes the difference it found as the "dashboard.counters.drift" gauge.
+ */
+@Service
+public class DashboardCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounterService.class);
+
+    private final DashboardStatsService dashboardStatsService;
+
+    private final AtomicLong totalEmployees = new AtomicLong();
+    private final Map<String, AtomicLong> roleCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> projectStatusCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> leaveStatusCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> departmentHeadcounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final Counter reconciliations;
+    private volatile boolean seeded = false;
+
+    @Autowired
+    public DashboardCounterService(DashboardStatsService dashboardStatsService, MeterRegistry meterRegistry) {
+        this.dashboardStatsService = dashboardStatsService;
+        Gauge.builder("dashboard.counters.drift", lastDrift, AtomicLong::get)
+                .description("Total absolute difference between in-memory and database counters at the last reconciliation")
+                .register(meterRegistry);
+        this.reconciliations = Counter.builder("dashboard.counters.reconciliations")
+                .description("Number of dashboard counter reconciliations")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Recompute all counters from the database, record the drift and replace the in-memory values.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.counters.reconcile-interval-ms:300000}",
+               initialDelayString = "${dashboard.counters.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        DashboardStatsDto fresh = dashboardStatsService.getDashboardStats();
+
+        long drift = 0;
+        if (seeded) {
+            drift += Math.abs(totalEmployees.get() - fresh.getTotalEmployees());
+            drift += diff(roleCounts, fresh.getRoleCounts());
+            drift += diff(projectStatusCounts, fresh.getProjectStatusCounts());
+            drift += diff(leaveStatusCounts, fresh.getLeaveStatusCounts());
+            drift += diff(departmentHeadcounts, fresh.getDepartmentHeadcounts());
+        }
+
+        totalEmployees.set(fresh.getTotalEmployees());
+        replace(roleCounts, fresh.getRoleCounts());
+        replace(projectStatusCounts, fresh.getProjectStatusCounts());
+        replace(leaveStatusCounts, fresh.getLeaveStatusCounts());
+        replace(departmentHeadcounts, fresh.getDepartmentHeadcounts());
+
+        lastDrift.set(drift);
+        reconciliations.increment();
+        seeded = true;
+
+        if (drift > 0) {
+            logger.warn("Dashboard counters drifted from the database by {}", drift);
+        } else {
+            logger.debug("Dashboard counters reconciled without drift");
+        }
+    }
+
+    /**
+     * Current counters, answered from memory.
+     */
+    public DashboardStatsDto snapshot() {
+        if (!seeded) {
+            reconcile();
+        }
+        Map<String, Long> roles = copy(roleCounts);
+        Map<String, Long> projects = copy(projectStatusCounts);
+        Map<String, Long> leaves = copy(leaveStatusCounts);
+        long totalProjects = projects.values().stream().mapToLong(Long::longValue).sum();
+
+        return new DashboardStatsDto(
+                totalEmployees.get(),
+                roles.getOrDefault(Role.RoleType.ROLE_HR.name(), 0L),
+                roles.getOrDefault(Role.RoleType.ROLE_MANAGER.name(), 0L),
+                totalProjects,
+                projects.getOrDefault(Project.ProjectStatus.ACTIVE.name(), 0L),
+                leaves.getOrDefault(LeaveRequest.LeaveStatus.PENDING.name(), 0L),
+                roles,
+                projects,
+                leaves,
+                copy(departmentHeadcounts)
+        );
+    }
+
+    public long getLastDrift() {
+        return lastDrift.get();
+    }
+
+    // Write-side hooks. A null value means "not present", e.g. a null old status is a create.
+
+    public void employeeAdded(String role, String departmentName) {
+        totalEmployees.incrementAndGet();
+        adjust(roleCounts, role, 1);
+        adjust(departmentHeadcounts, departmentName, 1);
+    }
+
+    public void employeeRemoved(String role, String departmentName) {
+        totalEmployees.decrementAndGet();
+        adjust(roleCounts, role, -1);
+        adjust(departmentHeadcounts, departmentName, -1);
+    }
+
+    public void employeeChanged(String oldRole, String newRole, String oldDepartmentName, String newDepartmentName) {
+        move(roleCounts, oldRole, newRole);
+        move(departmentHeadcounts, oldDepartmentName, newDepartmentName);
+    }
+
+    public void projectStatusChanged(String oldStatus, String newStatus) {
+        move(projectStatusCounts, oldStatus, newStatus);
+    }
+
+    public void leaveStatusChanged(String oldStatus, String newStatus) {
+        move(leaveStatusCounts, oldStatus, newStatus);
+    }
+
+    private void move(Map<String, AtomicLong> counts, String from, String to) {
+        if (from != null && from.equals(to)) {
+            return;
+        }
+        adjust(counts, from, -1);
+        adjust(counts, to, 1);
+    }
+
+    private void adjust(Map<String, AtomicLong> counts, String key, long delta) {
+        if (key == null) {
+            return;
+        }
+        counts.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private long diff(Map<String, AtomicLong> current, Map<String, Long> fresh) {
+        long drift = 0;
+        for (Map.Entry<String, Long> entry : fresh.entrySet()) {
+            AtomicLong value = current.get(entry.getKey());
+            drift += Math.abs((value != null ? value.get() : 0L) - entry.getValue());
+        }
+        for (Map.Entry<String, AtomicLong> entry : current.entrySet()) {
+            if (!fresh.containsKey(entry.getKey())) {
+                drift += Math.abs(entry.getValue().get());
+            }
+        }
+        return drift;
+    }
+
+    private void replace(Map<String, AtomicLong> current, Map<String, Long> fresh) {
+        current.keySet().retainAll(fresh.keySet());
+        fresh.forEach((key, value) -> current.computeIfAbsent(key, k -> new AtomicLong()).set(value));
+    }
+
+    private Map<String, Long> copy(Map<String, AtomicLong> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((key, value) -> result.put(key, value.get()));
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.DashboardStatsDto;
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.repository.DashboardStatsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class DashboardStatsService {
+
+    @Autowired
+    private DashboardStatsRepository dashboardStatsRepository;
+
+    /**
+     * Compute all dashboard counters (role counts, project/leave status histograms and
+     * department headcounts) with COUNT/GROUP BY queries instead of loading entities.
+     * @return typed dashboard statistics
+     */
+    @Transactional(readOnly = true)
+    public DashboardStatsDto getDashboardStats() {
+        long totalEmployees = 0;
+        Map<String, Long> roleCounts = new LinkedHashMap<>();
+        Map<String, Long> projectStatusCounts = new LinkedHashMap<>();
+        Map<String, Long> leaveStatusCounts = new LinkedHashMap<>();
+        Map<String, Long> departmentHeadcounts = new LinkedHashMap<>();
+
+        // Make sure every bucket is present even when its count is zero
+        for (Role.RoleType roleType : Role.RoleType.values()) {
+            roleCounts.put(roleType.name(), 0L);
+        }
+        for (Project.ProjectStatus status : Project.ProjectStatus.values()) {
+            projectStatusCounts.put(status.name(), 0L);
+        }
+        for (LeaveRequest.LeaveStatus status : LeaveRequest.LeaveStatus.values()) {
+            leaveStatusCounts.put(status.name(), 0L);
+        }
+
+        for (DashboardStatsRepository.CountRow row : dashboardStatsRepository.fetchDashboardCounts()) {
+            long total = row.getTotal() != null ? row.getTotal().longValue() : 0L;
+            switch (row.getCategory()) {
+                case "EMPLOYEES" -> totalEmployees = total;
+                case "ROLE" -> roleCounts.put(row.getBucket(), total);
+                case "PROJECT_STATUS" -> projectStatusCounts.put(row.getBucket(), total);
+                case "LEAVE_STATUS" -> leaveStatusCounts.put(row.getBucket(), total);
+                case "DEPARTMENT" -> departmentHeadcounts.put(row.getBucket(), total);
+                default -> { }
+            }
+        }
+
+        long totalProjects = projectStatusCounts.values().stream().mapToLong(Long::longValue).sum();
+
+        return new DashboardStatsDto(
+                totalEmployees,
+                roleCounts.get(Role.RoleType.ROLE_HR.name()),
+                roleCounts.get(Role.RoleType.ROLE_MANAGER.name()),
+                totalProjects,
+                projectStatusCounts.get(Project.ProjectStatus.ACTIVE.name()),
+                leaveStatusCounts.get(LeaveRequest.LeaveStatus.PENDING.name()),
+                roleCounts,
+                projectStatusCounts,
+                leaveStatusCounts,
+                departmentHeadcounts
+        );
+    }
+}
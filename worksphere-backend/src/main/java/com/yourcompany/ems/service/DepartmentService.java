@@ -1,12 +1,15 @@
 package com.yourcompany.ems.service;
 
+import com.yourcompany.ems.dto.CursorPage;
 import com.yourcompany.ems.dto.DepartmentDto;
-import com.yourcompany.ems.dto.EmployeeDto;
 import com.yourcompany.ems.entity.Department;
-import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.mapper.DepartmentMapper;
 import com.yourcompany.ems.repository.DepartmentRepository;
-import org.modelmapper.ModelMapper;
+import com.yourcompany.ems.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,7 +22,10 @@ public class DepartmentService {
     private DepartmentRepository departmentRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
 
     public List<DepartmentDto> getAllDepartments() {
         return departmentRepository.findAll().stream()
@@ -27,6 +33,30 @@ public class DepartmentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one slice of departments using keyset pagination on id.
+     * The total count is only computed when includeTotal is set.
+     */
+    public CursorPage<DepartmentDto> getDepartmentsPage(String cursor, int size, String sort, boolean includeTotal) {
+        Sort.Direction direction = CursorUtil.parseDirection(sort);
+        Long key = CursorUtil.resolveKey(cursor, direction);
+        Pageable pageable = CursorUtil.pageable(size, direction);
+
+        Slice<Department> slice = direction.isAscending()
+                ? departmentRepository.findByIdGreaterThan(key, pageable)
+                : departmentRepository.findByIdLessThan(key, pageable);
+
+        List<DepartmentDto> items = slice.getContent().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        String nextCursor = slice.hasNext() && !items.isEmpty()
+                ? CursorUtil.encode(items.get(items.size() - 1).getId())
+                : null;
+        Long totalCount = includeTotal ? departmentRepository.count() : null;
+
+        return new CursorPage<>(items, nextCursor, slice.hasNext(), items.size(), totalCount);
+    }
+
     public DepartmentDto getDepartmentById(Long id) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
@@ -35,15 +65,16 @@ public class DepartmentService {
 
     public DepartmentDto createDepartment(DepartmentDto departmentDto) {
         // Validate department name and code uniqueness
-        if (departmentRepository.existsByName(departmentDto.getName())) {
+        if (referenceDataRegistry.findDepartmentByName(departmentDto.getName()).isPresent()) {
             throw new RuntimeException("Department name already exists");
         }
-        if (departmentRepository.existsByCode(departmentDto.getCode())) {
+        if (referenceDataRegistry.findDepartmentByCode(departmentDto.getCode()).isPresent()) {
             throw new RuntimeException("Department code already exists");
         }
 
-        Department department = modelMapper.map(departmentDto, Department.class);
+        Department department = departmentMapper.toEntity(departmentDto);
         department = departmentRepository.save(department);
+        referenceDataRegistry.refreshDepartments();
         return convertToDto(department);
     }
 
@@ -53,13 +84,13 @@ public class DepartmentService {
 
         // Check if name is being changed and if it's unique
         if (!department.getName().equals(departmentDto.getName()) && 
-            departmentRepository.existsByName(departmentDto.getName())) {
+            referenceDataRegistry.findDepartmentByName(departmentDto.getName()).isPresent()) {
             throw new RuntimeException("Department name already exists");
         }
 
         // Check if code is being changed and if it's unique
         if (!department.getCode().equals(departmentDto.getCode()) && 
-            departmentRepository.existsByCode(departmentDto.getCode())) {
+            referenceDataRegistry.findDepartmentByCode(departmentDto.getCode()).isPresent()) {
             throw new RuntimeException("Department code already exists");
         }
 
@@ -68,6 +99,7 @@ public class DepartmentService {
         department.setCode(departmentDto.getCode());
 
         department = departmentRepository.save(department);
+        referenceDataRegistry.refreshDepartments();
         return convertToDto(department);
     }
 
@@ -81,26 +113,10 @@ public class DepartmentService {
         }
         
         departmentRepository.deleteById(id);
+        referenceDataRegistry.refreshDepartments();
     }
 
     private DepartmentDto convertToDto(Department department) {
-        DepartmentDto dto = modelMapper.map(department, DepartmentDto.class);
-        
-        // Map employees if needed
-        if (department.getEmployees() != null) {
-            dto.setEmployees(department.getEmployees().stream()
-                    .map(employee -> {
-                        EmployeeDto employeeDto = new EmployeeDto();
-                        employeeDto.setId(employee.getId());
-                        employeeDto.setFirstName(employee.getFirstName());
-                        employeeDto.setLastName(employee.getLastName());
-                        employeeDto.setEmail(employee.getEmail());
-                        employeeDto.setEmployeeId(employee.getEmployeeId());
-                        return employeeDto;
-                    })
-                    .collect(Collectors.toList()));
-        }
-        
-        return dto;
+        return departmentMapper.toDto(department);
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.yourcompany.ems.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the employee id of a logged-in user. Results are kept in a bounded
+ * username -> employee id cache; EmployeeService evicts entries when an employee
+ * is updated or deleted. Unknown usernames are not cached.
+ */
+@Service
+public class EmployeeIdentityService {
+
+    private final EmployeeRepository employeeRepository;
+    private final Cache<String, Long> employeeIds;
+    // employee id -> usernames cached for them. Entries can outlive the cache entries; that only
+    // costs a needless invalidation, and the set is dropped when the employee is evicted.
+    private final Map<Long, Set<String>> usernames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EmployeeIdentityService(EmployeeRepository employeeRepository,
+                                   @Value("${employee.identity-cache.max-size:10000}") long maxSize) {
+        this.employeeRepository = employeeRepository;
+        this.employeeIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    public Long getEmployeeId(String username) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new RuntimeException("Username is required");
+        }
+        Long employeeId = employeeIds.getIfPresent(username);
+        if (employeeId != null) {
+            return employeeId;
+        }
+        employeeId = lookup(username)
+                .orElseThrow(() -> new RuntimeException("Employee not found for username: " + username));
+        usernames.computeIfAbsent(employeeId, id -> ConcurrentHashMap.newKeySet()).add(username);
+        employeeIds.put(username, employeeId);
+        return employeeId;
+    }
+
+    /**
+     * Drop every cached username that points to the given employee.
+     */
+    public void evictEmployee(Long employeeId) {
+        Set<String> cached = usernames.remove(employeeId);
+        if (cached != null) {
+            employeeIds.invalidateAll(cached);
+        }
+    }
+
+    private Optional<Long> lookup(String username) {
+        Optional<Long> employeeId = employeeRepository.findIdByUserUsername(username);
+        // Users may log in with their email instead of their username
+        if (employeeId.isEmpty() && username.contains("@")) {
+            employeeId = employeeRepository.findIdByEmail(username);
+        }
+        return employeeId;
+    }
+}
@@ -0,0 +1,543 @@
+package com.yourcompany.ems.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yourcompany.ems.dto.EmployeeImportResult;
+import com.yourcompany.ems.dto.EmployeeImportRow;
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk employee import from CSV or NDJSON.
+ *
+ * The input is read one record at a time and written in chunks, so memory use depends on the
+ * chunk size rather than the file size. Departments and roles come from the reference data
+ * registry, managers and existing logins from maps loaded once per import. Each chunk gets a
+ * block of employee ids and is written with JDBC batch inserts (users, user roles, employees)
+ * in its own transaction. Invalid rows are reported and skipped; a chunk that fails to write
+ * reports all of its rows as failed.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private static final String DEFAULT_PASSWORD = "password123"; // same default as createEmployee
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email, first_name, last_name, enabled, account_non_expired, "
+            + "account_non_locked, credentials_non_expired, created_at) VALUES (?, ?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE, ?)";
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (user_id, employee_id, first_name, last_name, email, contact, address, city, "
+            + "blood_group, photo_url, skills, experience, education, hobbies, certifications, achievements, "
+            + "date_of_birth, date_of_joining, manager_id, department_id, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/json")) {
+                return NDJSON;
+            }
+            throw new RuntimeException("Unsupported import format: " + contentType
+                    + ". Supported content types are: text/csv, application/x-ndjson");
+        }
+    }
+
+    private final IdAllocatorService idAllocatorService;
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final DashboardCounterService dashboardCounterService;
+    private final SkillIndexService skillIndexService;
+    private final OrgChartIndexService orgChartIndexService;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    // Password hashing for imported users; bounded so imports cannot take every core
+    private final ExecutorService hashExecutor;
+    private final int hashThreads;
+
+    @Value("${employee.import.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${employee.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    @Autowired
+    public EmployeeImportService(IdAllocatorService idAllocatorService,
+                                 EmployeeRepository employeeRepository,
+                                 UserRepository userRepository,
+                                 ReferenceDataRegistry referenceDataRegistry,
+                                 DashboardCounterService dashboardCounterService,
+                                 SkillIndexService skillIndexService,
+                                 OrgChartIndexService orgChartIndexService,
+                                 PasswordEncoder passwordEncoder,
+                                 JdbcTemplate jdbcTemplate,
+                                 NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${employee.import.hash-threads:2}") int hashThreads) {
+        this.idAllocatorService = idAllocatorService;
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
+        this.dashboardCounterService = dashboardCounterService;
+        this.skillIndexService = skillIndexService;
+        this.orgChartIndexService = orgChartIndexService;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.hashThreads = Math.max(1, hashThreads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(this.hashThreads, runnable -> {
+            Thread thread = new Thread(runnable, "import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ndjsonReader = objectMapper.readerFor(EmployeeImportRow.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.registerModule(new JavaTimeModule());
+        csvMapper.enable(CsvParser.Feature.TRIM_SPACES);
+        csvMapper.enable(CsvParser.Feature.EMPTY_STRING_AS_NULL);
+        csvMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.csvReader = csvMapper.readerFor(EmployeeImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    public EmployeeImportResult importEmployees(InputStream input, Format format) {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+
+        try (MappingIterator<EmployeeImportRow> rows = format == Format.CSV
+                ? csvReader.readValues(input)
+                : ndjsonReader.readValues(input)) {
+            while (nextRow(rows, run)) {
+                if (run.current != null) {
+                    accept(run, run.current);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read import data: " + e.getMessage(), e);
+        }
+        flush(run);
+
+        EmployeeImportResult result = run.result;
+        result.setDurationMs((System.nanoTime() - started) / 1_000_000);
+        result.setRowsPerSecond(result.getDurationMs() > 0
+                ? Math.round(result.getImported() * 1000.0 / result.getDurationMs() * 10) / 10.0
+                : result.getImported());
+        logger.info("Imported {} of {} employees in {} ms ({} batches, {} failed)",
+                result.getImported(), result.getTotalRows(), result.getDurationMs(), result.getBatches(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * Read the next record into run.current, recording unreadable records as failed rows.
+     * Returns false at the end of the input, or when the input cannot be read any further.
+     */
+    private boolean nextRow(MappingIterator<EmployeeImportRow> rows, ImportRun run) {
+        try {
+            if (!rows.hasNextValue()) {
+                return false;
+            }
+        } catch (IOException | RuntimeException e) {
+            run.result.setTotalRows(run.result.getTotalRows() + 1);
+            fail(run, run.result.getTotalRows(), null, "Unreadable input, import stopped: " + e.getMessage());
+            return false;
+        }
+        run.result.setTotalRows(run.result.getTotalRows() + 1);
+        try {
+            run.current = rows.nextValue();
+        } catch (IOException | RuntimeException e) {
+            run.current = null;
+            fail(run, run.result.getTotalRows(), null, "Invalid record: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void accept(ImportRun run, EmployeeImportRow row) {
+        long rowNumber = run.result.getTotalRows();
+        String email = trim(row.getEmail());
+
+        if (isBlank(row.getFirstName()) || isBlank(row.getLastName()) || isBlank(email)) {
+            fail(run, rowNumber, email, "firstName, lastName and email are required");
+            return;
+        }
+        String login = email.toLowerCase(Locale.ROOT);
+        if (run.logins().contains(login)) {
+            fail(run, rowNumber, email, "A user with this email already exists");
+            return;
+        }
+
+        Role role;
+        try {
+            role = resolveRole(row.getRole());
+        } catch (RuntimeException e) {
+            fail(run, rowNumber, email, e.getMessage());
+            return;
+        }
+
+        Department department = null;
+        if (row.getDepartmentId() != null) {
+            department = referenceDataRegistry.findDepartmentById(row.getDepartmentId()).orElse(null);
+        } else if (!isBlank(row.getDepartmentCode())) {
+            department = referenceDataRegistry.findDepartmentByCode(row.getDepartmentCode().trim()).orElse(null);
+        }
+        if (department == null && (row.getDepartmentId() != null || !isBlank(row.getDepartmentCode()))) {
+            fail(run, rowNumber, email, "Department not found");
+            return;
+        }
+
+        Long managerId = null;
+        if (row.getManagerId() != null) {
+            if (!run.employeeIds().contains(row.getManagerId())) {
+                fail(run, rowNumber, email, "Manager not found");
+                return;
+            }
+            managerId = row.getManagerId();
+        } else if (!isBlank(row.getManagerEmail())) {
+            String managerKey = row.getManagerEmail().trim().toLowerCase(Locale.ROOT);
+            if (run.pendingEmails.contains(managerKey)) {
+                // The manager is earlier in this chunk: write it first so it has an id
+                flush(run);
+            }
+            managerId = run.employees().get(managerKey);
+            if (managerId == null) {
+                fail(run, rowNumber, email, "Manager not found");
+                return;
+            }
+        }
+
+        run.logins().add(login);
+        run.pendingEmails.add(login);
+        run.pending.add(new PendingRow(rowNumber, email, row, role, department, managerId));
+        if (run.pending.size() >= batchSize) {
+            flush(run);
+        }
+    }
+
+    private Role resolveRole(String value) {
+        if (isBlank(value)) {
+            return referenceDataRegistry.findRole(Role.RoleType.ROLE_EMPLOYEE)
+                    .orElseThrow(() -> new RuntimeException("Employee role not found"));
+        }
+        String roleStr = value.trim().toUpperCase(Locale.ROOT);
+        if (!roleStr.startsWith("ROLE_")) {
+            roleStr = "ROLE_" + roleStr;
+        }
+        Role.RoleType roleType;
+        try {
+            roleType = Role.RoleType.valueOf(roleStr);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid role: " + value + ". Valid roles are: HR, MANAGER, EMPLOYEE");
+        }
+        if (roleType == Role.RoleType.ROLE_ADMIN) {
+            throw new RuntimeException("Invalid role: " + value + ". Valid roles are: HR, MANAGER, EMPLOYEE");
+        }
+        String roleName = roleStr;
+        return referenceDataRegistry.findRole(roleType)
+                .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
+    }
+
+    private void hashPasswords(List<PendingRow> chunk) {
+        int slice = (chunk.size() + hashThreads - 1) / hashThreads;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += slice) {
+            List<PendingRow> rows = chunk.subList(from, Math.min(from + slice, chunk.size()));
+            tasks.add(() -> {
+                rows.forEach(pending -> pending.passwordHash = passwordEncoder.encode(DEFAULT_PASSWORD));
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> done : hashExecutor.invokeAll(tasks)) {
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to hash imported passwords", e.getCause());
+        }
+    }
+
+    /**
+     * Write the pending rows as one chunk: users, their roles and the employee records,
+     * each as a single JDBC batch, in one transaction.
+     */
+    private void flush(ImportRun run) {
+        List<PendingRow> chunk = run.pending;
+        if (chunk.isEmpty()) {
+            return;
+        }
+        run.pending = new ArrayList<>();
+        run.pendingEmails.clear();
+
+        // Each user gets its own salt, so one cracked hash does not expose every imported account.
+        // Hashing is deliberately slow: do it on the import's own threads, outside the write transaction.
+        hashPasswords(chunk);
+
+        try {
+            Map<String, Long> employeeIds = transactionTemplate.execute(status -> writeChunk(chunk));
+            run.result.setBatches(run.result.getBatches() + 1);
+            run.result.setImported(run.result.getImported() + chunk.size());
+            run.employees().putAll(employeeIds);
+            run.employeeIds().addAll(employeeIds.values());
+            skillIndexService.reindex(employeeIds.values());
+            // The chart is rebuilt once, on its next read, however many chunks the import has
+            Map<Long, Long> managerLinks = new HashMap<>();
+            for (PendingRow pending : chunk) {
+                managerLinks.put(employeeIds.get(pending.email.toLowerCase(Locale.ROOT)), pending.managerId);
+            }
+            orgChartIndexService.setManagers(managerLinks);
+            for (PendingRow pending : chunk) {
+                dashboardCounterService.employeeAdded(pending.role.getName().name(),
+                        pending.department != null ? pending.department.getName() : null);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write an import batch of {} rows: {}", chunk.size(), e.getMessage());
+            String message = "Batch write failed: " + rootCauseMessage(e);
+            for (PendingRow pending : chunk) {
+                fail(run, pending.rowNumber, pending.email, message);
+            }
+        }
+    }
+
+    private Map<String, Long> writeChunk(List<PendingRow> chunk) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> codes = idAllocatorService.nextEmployeeIds(chunk.size());
+
+        jdbcTemplate.batchUpdate(INSERT_USER, chunk, chunk.size(), (ps, pending) -> {
+            EmployeeImportRow row = pending.row;
+            ps.setString(1, pending.email);
+            ps.setString(2, pending.passwordHash);
+            ps.setString(3, pending.email);
+            ps.setString(4, row.getFirstName().trim());
+            ps.setString(5, row.getLastName().trim());
+            ps.setTimestamp(6, now);
+        });
+
+        List<String> emails = chunk.stream().map(pending -> pending.email).toList();
+        Map<String, Long> userIds = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, username FROM users WHERE username IN (:usernames)",
+                Map.of("usernames", emails),
+                rs -> {
+                    userIds.put(rs.getString("username"), rs.getLong("id"));
+                });
+
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, chunk, chunk.size(), (ps, pending) -> {
+            ps.setLong(1, userIds.get(pending.email));
+            ps.setLong(2, pending.role.getId());
+        });
+
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).employeeCode = codes.get(i);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, chunk, chunk.size(), (ps, pending) -> {
+            EmployeeImportRow row = pending.row;
+            ps.setLong(1, userIds.get(pending.email));
+            ps.setString(2, pending.employeeCode);
+            ps.setString(3, row.getFirstName().trim());
+            ps.setString(4, row.getLastName().trim());
+            ps.setString(5, pending.email);
+            ps.setString(6, row.getContact() != null ? row.getContact() : "");
+            ps.setString(7, row.getAddress());
+            ps.setString(8, row.getCity());
+            ps.setString(9, row.getBloodGroup());
+            ps.setString(10, row.getPhotoUrl());
+            ps.setString(11, row.getSkills());
+            setNullable(ps, 12, row.getExperience(), Types.INTEGER);
+            ps.setString(13, row.getEducation());
+            ps.setString(14, row.getHobbies());
+            ps.setString(15, row.getCertifications());
+            ps.setString(16, row.getAchievements());
+            setDate(ps, 17, row.getDateOfBirth());
+            setDate(ps, 18, row.getDateOfJoining());
+            setNullable(ps, 19, pending.managerId, Types.BIGINT);
+            setNullable(ps, 20, pending.department != null ? pending.department.getId() : null, Types.BIGINT);
+            ps.setTimestamp(21, now);
+        });
+
+        Map<String, Long> employeeIds = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, email FROM employees WHERE user_id IN (:userIds)",
+                Map.of("userIds", userIds.values()),
+                rs -> {
+                    employeeIds.put(rs.getString("email").toLowerCase(Locale.ROOT), rs.getLong("id"));
+                });
+        return employeeIds;
+    }
+
+    private void fail(ImportRun run, long rowNumber, String email, String message) {
+        EmployeeImportResult result = run.result;
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new EmployeeImportResult.RowError(rowNumber, email, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(value));
+        }
+    }
+
+    private static String rootCauseMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static final class PendingRow {
+        private final long rowNumber;
+        private final String email;
+        private final EmployeeImportRow row;
+        private final Role role;
+        private final Department department;
+        private final Long managerId;
+        private String employeeCode;
+        private String passwordHash;
+
+        private PendingRow(long rowNumber, String email, EmployeeImportRow row, Role role,
+                           Department department, Long managerId) {
+            this.rowNumber = rowNumber;
+            this.email = email;
+            this.row = row;
+            this.role = role;
+            this.department = department;
+            this.managerId = managerId;
+        }
+    }
+
+    /**
+     * State of one import. The lookup maps are loaded on first use, so an import
+     * whose rows all fail validation early does not pay for them.
+     */
+    private final class ImportRun {
+        private final EmployeeImportResult result = new EmployeeImportResult();
+        private List<PendingRow> pending = new ArrayList<>();
+        private final Set<String> pendingEmails = new HashSet<>();
+        private EmployeeImportRow current;
+        private Set<String> logins;
+        private Map<String, Long> employees;
+        private Set<Long> employeeIds;
+
+        private Set<String> logins() {
+            if (logins == null) {
+                logins = new HashSet<>();
+                for (Object[] user : userRepository.findAllUsernamesAndEmails()) {
+                    addLowerCase(logins, (String) user[0]);
+                    addLowerCase(logins, (String) user[1]);
+                }
+            }
+            return logins;
+        }
+
+        // email -> employee id, for manager references
+        private Map<String, Long> employees() {
+            if (employees == null) {
+                employees = new HashMap<>();
+                for (Object[] employee : employeeRepository.findAllEmailsAndIds()) {
+                    if (employee[0] != null) {
+                        employees.put(((String) employee[0]).toLowerCase(Locale.ROOT), (Long) employee[1]);
+                    }
+                }
+            }
+            return employees;
+        }
+
+        private Set<Long> employeeIds() {
+            if (employeeIds == null) {
+                employeeIds = new HashSet<>(employees().values());
+            }
+            return employeeIds;
+        }
+
+        private void addLowerCase(Set<String> values, String value) {
+            if (value != null) {
+                values.add(value.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+}
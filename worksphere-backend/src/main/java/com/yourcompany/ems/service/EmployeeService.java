@@ -1,114 +1,166 @@
 package com.yourcompany.ems.service;
 
+import com.yourcompany.ems.dto.CursorPage;
 import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.EmployeeSummaryDto;
 import com.yourcompany.ems.dto.ProjectDto;
+import com.yourcompany.ems.dto.TeamMemberDto;
 import com.yourcompany.ems.entity.Department;
 import com.yourcompany.ems.entity.Employee;
-import com.yourcompany.ems.entity.Project;
 import com.yourcompany.ems.entity.Role;
 import com.yourcompany.ems.entity.User;
-import com.yourcompany.ems.repository.DepartmentRepository;
 import com.yourcompany.ems.repository.EmployeeRepository;
-import com.yourcompany.ems.repository.ProjectRepository;
-import com.yourcompany.ems.repository.RoleRepository;
 import com.yourcompany.ems.repository.UserRepository;
-import org.modelmapper.ModelMapper;
+import com.yourcompany.ems.util.CursorUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
+
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final ProjectRepository projectRepository;
-    private final DepartmentRepository departmentRepository;
-    private final ModelMapper modelMapper;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final DashboardCounterService dashboardCounterService;
+    private final TokenVersionService tokenVersionService;
+    private final EmployeeIdentityService employeeIdentityService;
+    private final IdAllocatorService idAllocatorService;
+    private final SkillIndexService skillIndexService;
+    private final OrgChartIndexService orgChartIndexService;
+    private final TeamMemberService teamMemberService;
     
     @Autowired
     public EmployeeService(EmployeeRepository employeeRepository,
                           UserRepository userRepository,
-                          RoleRepository roleRepository,
-                          ProjectRepository projectRepository,
-                          DepartmentRepository departmentRepository,
-                          ModelMapper modelMapper,
-                          PasswordEncoder passwordEncoder) {
+                          ReferenceDataRegistry referenceDataRegistry,
+                          PasswordEncoder passwordEncoder,
+                          DashboardCounterService dashboardCounterService,
+                          TokenVersionService tokenVersionService,
+                          EmployeeIdentityService employeeIdentityService,
+                          IdAllocatorService idAllocatorService,
+                          SkillIndexService skillIndexService,
+                          OrgChartIndexService orgChartIndexService,
+                          TeamMemberService teamMemberService) {
         this.employeeRepository = employeeRepository;
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
-        this.projectRepository = projectRepository;
-        this.departmentRepository = departmentRepository;
-        this.modelMapper = modelMapper;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.dashboardCounterService = dashboardCounterService;
+        this.tokenVersionService = tokenVersionService;
+        this.employeeIdentityService = employeeIdentityService;
+        this.idAllocatorService = idAllocatorService;
+        this.skillIndexService = skillIndexService;
+        this.orgChartIndexService = orgChartIndexService;
+        this.teamMemberService = teamMemberService;
     }
 
     public List<EmployeeDto> getAllEmployees() {
         // Exclude admin users from employee lists
-        return employeeRepository.findAllNonAdminEmployees().stream()
+        return employeeRepository.findAllNonAdminEmployeesForList().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Get one slice of non-admin employees using keyset pagination on id.
+     * The total count is only computed when includeTotal is set.
+     */
+    public CursorPage<EmployeeDto> getEmployeesPage(String cursor, int size, String sort, boolean includeTotal) {
+        Sort.Direction direction = CursorUtil.parseDirection(sort);
+        Long key = CursorUtil.resolveKey(cursor, direction);
+        Pageable pageable = CursorUtil.pageable(size, direction);
+
+        Slice<Employee> slice = direction.isAscending()
+                ? employeeRepository.findNonAdminEmployeesAfter(key, pageable)
+                : employeeRepository.findNonAdminEmployeesBefore(key, pageable);
+
+        List<EmployeeDto> items = slice.getContent().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        String nextCursor = slice.hasNext() && !items.isEmpty()
+                ? CursorUtil.encode(items.get(items.size() - 1).getId())
+                : null;
+        Long totalCount = includeTotal ? employeeRepository.countNonAdminEmployees() : null;
+
+        return new CursorPage<>(items, nextCursor, slice.hasNext(), items.size(), totalCount);
+    }
+    
+    /**
+     * Directory view of all non-admin employees, read through a DTO projection
+     * in a read-only transaction (no entities, no dirty checking).
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeSummaryDto> getAllEmployeeSummaries() {
+        return employeeRepository.findAllNonAdminEmployeeSummaries();
+    }
+
+    /**
+     * Directory view of one slice of non-admin employees, see getEmployeesPage.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeSummaryDto> getEmployeeSummariesPage(String cursor, int size, String sort, boolean includeTotal) {
+        Sort.Direction direction = CursorUtil.parseDirection(sort);
+        Long key = CursorUtil.resolveKey(cursor, direction);
+        Pageable pageable = CursorUtil.pageable(size, direction);
+
+        Slice<EmployeeSummaryDto> slice = direction.isAscending()
+                ? employeeRepository.findNonAdminEmployeeSummariesAfter(key, pageable)
+                : employeeRepository.findNonAdminEmployeeSummariesBefore(key, pageable);
+
+        List<EmployeeSummaryDto> items = slice.getContent();
+        String nextCursor = slice.hasNext() && !items.isEmpty()
+                ? CursorUtil.encode(items.get(items.size() - 1).getId())
+                : null;
+        Long totalCount = includeTotal ? employeeRepository.countNonAdminEmployees() : null;
+
+        return new CursorPage<>(items, nextCursor, slice.hasNext(), items.size(), totalCount);
     }
     
     public List<EmployeeDto> getRecentEmployees(int limit) {
         org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0, limit);
-        // Get all non-admin employees and then take the limit
-        return employeeRepository.findAllNonAdminEmployees().stream()
+        // Let the database apply the limit instead of loading every employee
+        return employeeRepository.findRecentNonAdminEmployees(pageable).stream()
                 .map(this::convertToDto)
-                .limit(limit)
                 .collect(Collectors.toList());
     }
 
     public EmployeeDto getEmployeeById(Long id) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
         return convertToDto(employee);
     }
 
     public EmployeeDto getEmployeeByUsername(String username) {
-        System.out.println("DEBUG: Looking for employee with username: " + username);
         if (username == null || username.trim().isEmpty()) {
             throw new RuntimeException("Username is required. Please log in to access employee data.");
         }
-        
-        // Debug: Check if any employees exist
-        long employeeCount = employeeRepository.count();
-        System.out.println("DEBUG: Total employees in database: " + employeeCount);
-        
-        // Debug: Check if any users exist
-        long userCount = userRepository.count();
-        System.out.println("DEBUG: Total users in database: " + userCount);
-        
-        // Try to find the employee
+        logger.debug("Looking up employee for username {}", username);
+
         Optional<Employee> employeeOptional = employeeRepository.findByUserUsername(username);
-        if (employeeOptional.isEmpty()) {
-            System.out.println("DEBUG: Employee not found for username: " + username);
-            System.out.println("DEBUG: Available employees:");
-            employeeRepository.findAll().forEach(emp -> {
-                System.out.println("  - Employee ID: " + emp.getId() + ", Name: " + emp.getFullName() + ", User: " + (emp.getUser() != null ? emp.getUser().getUsername() : "null"));
-            });
-            
-            // Try alternative approach: find by email if username is an email
-            if (username.contains("@")) {
-                System.out.println("DEBUG: Username looks like email, trying email lookup...");
-                Optional<Employee> employeeByEmail = employeeRepository.findByEmail(username);
-                if (employeeByEmail.isPresent()) {
-                    System.out.println("DEBUG: Found employee by email!");
-                    return convertToDto(employeeByEmail.get());
-                }
-            }
-            
-            throw new RuntimeException("Employee not found for username: " + username + ". Please register an employee account first. Available employees: " + employeeCount);
+        // Try alternative approach: find by email if username is an email
+        if (employeeOptional.isEmpty() && username.contains("@")) {
+            employeeOptional = employeeRepository.findByEmail(username);
         }
-        
-        Employee employee = employeeOptional.get();
-        System.out.println("DEBUG: Found employee: " + employee.getFullName() + " (ID: " + employee.getId() + ")");
+        Employee employee = employeeOptional.orElseThrow(() -> new RuntimeException(
+                "Employee not found for username: " + username + ". Please register an employee account first."));
+
+        logger.debug("Found employee id={} for username {}", employee.getId(), username);
         return convertToDto(employee);
     }
 
@@ -146,7 +198,7 @@ public class EmployeeService {
         user.setLastName(employeeDto.getLastName());
 
         // Assign role based on employee type (you can modify this logic)
-        Role employeeRole = roleRepository.findByName(Role.RoleType.ROLE_EMPLOYEE)
+        Role employeeRole = referenceDataRegistry.findRole(Role.RoleType.ROLE_EMPLOYEE)
                 .orElseThrow(() -> new RuntimeException("Employee role not found"));
         user.getRoles().add(employeeRole);
 
@@ -172,7 +224,7 @@ public class EmployeeService {
         employee.setDateOfJoining(employeeDto.getDateOfJoining());
         
         employee.setUser(user);
-        employee.setEmployeeId(generateEmployeeId());
+        employee.setEmployeeId(idAllocatorService.nextEmployeeId());
 
         // Set manager if managerId is provided
         if (employeeDto.getManagerId() != null) {
@@ -183,28 +235,28 @@ public class EmployeeService {
         
         // Set department if departmentId is provided
         if (employeeDto.getDepartmentId() != null) {
-            Department department = departmentRepository.findById(employeeDto.getDepartmentId())
+            Department department = referenceDataRegistry.findDepartmentById(employeeDto.getDepartmentId())
                     .orElseThrow(() -> new RuntimeException("Department not found"));
             employee.setDepartment(department);
         }
 
         employee = employeeRepository.save(employee);
+        skillIndexService.index(employee);
+        orgChartIndexService.setManager(employee.getId(), managerId(employee));
+        dashboardCounterService.employeeAdded(primaryRole(employee), departmentName(employee));
         return convertToDto(employee);
     }
 
     public EmployeeDto updateEmployee(Long id, EmployeeDto employeeDto) {
-        System.out.println("=== BACKEND: UPDATE EMPLOYEE ===" );
-        System.out.println("Employee ID: " + id);
-        System.out.println("Received DTO: " + employeeDto.toString());
-        System.out.println("Department ID from DTO: " + employeeDto.getDepartmentId());
-        System.out.println("Date of Joining from DTO: " + employeeDto.getDateOfJoining());
-        
+        logger.debug("Updating employee id={} departmentId={} dateOfJoining={}",
+                id, employeeDto.getDepartmentId(), employeeDto.getDateOfJoining());
+
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        System.out.println("Current employee department: " + (employee.getDepartment() != null ? employee.getDepartment().getName() : "null"));
-        System.out.println("Current employee date of joining: " + employee.getDateOfJoining());
-        
+        String oldRole = primaryRole(employee);
+        String oldDepartmentName = departmentName(employee);
+
         // Update basic fields
         employee.setFirstName(employeeDto.getFirstName());
         employee.setLastName(employeeDto.getLastName());
@@ -224,7 +276,6 @@ public class EmployeeService {
         employee.setAchievements(employeeDto.getAchievements());
         
         // Update dates
-        System.out.println("Setting date of joining to: " + employeeDto.getDateOfJoining());
         employee.setDateOfBirth(employeeDto.getDateOfBirth());
         employee.setDateOfJoining(employeeDto.getDateOfJoining());
 
@@ -248,7 +299,7 @@ public class EmployeeService {
                     roleStr = "ROLE_" + roleStr;
                 }
                 Role.RoleType roleType = Role.RoleType.valueOf(roleStr);
-                Role role = roleRepository.findByName(roleType).orElse(null);
+                Role role = referenceDataRegistry.findRole(roleType).orElse(null);
                 if (role != null) {
                     user.getRoles().add(role);
                 } else {
@@ -264,65 +315,79 @@ public class EmployeeService {
 
         // Update manager if provided
         if (employeeDto.getManagerId() != null) {
+            if (orgChartIndexService.wouldCreateCycle(id, employeeDto.getManagerId())) {
+                throw new RuntimeException("An employee cannot report to themselves or to one of their own reports");
+            }
             Employee manager = employeeRepository.findById(employeeDto.getManagerId())
                     .orElseThrow(() -> new RuntimeException("Manager not found"));
             employee.setManager(manager);
         }
         
         // Update department if provided
-        System.out.println("Checking department update: departmentId = " + employeeDto.getDepartmentId());
         if (employeeDto.getDepartmentId() != null) {
-            System.out.println("Finding department with ID: " + employeeDto.getDepartmentId());
-            Department department = departmentRepository.findById(employeeDto.getDepartmentId())
+            Department department = referenceDataRegistry.findDepartmentById(employeeDto.getDepartmentId())
                     .orElseThrow(() -> new RuntimeException("Department not found"));
-            System.out.println("Found department: " + department.getName());
             employee.setDepartment(department);
-            System.out.println("Set employee department to: " + employee.getDepartment().getName());
-        } else {
-            System.out.println("Department ID is null, not updating department");
         }
 
-        System.out.println("Saving employee with department: " + (employee.getDepartment() != null ? employee.getDepartment().getName() : "null"));
-        System.out.println("Saving employee with date of joining: " + employee.getDateOfJoining());
-        
         employee = employeeRepository.save(employee);
-        
-        System.out.println("Employee saved. Final department: " + (employee.getDepartment() != null ? employee.getDepartment().getName() : "null"));
-        System.out.println("Employee saved. Final date of joining: " + employee.getDateOfJoining());
+        employeeIdentityService.evictEmployee(employee.getId());
+        teamMemberService.evictEmployee(employee.getId());
+        skillIndexService.index(employee);
+        orgChartIndexService.setManager(employee.getId(), managerId(employee));
+        String newRole = primaryRole(employee);
+        dashboardCounterService.employeeChanged(oldRole, newRole, oldDepartmentName, departmentName(employee));
+        // Tokens carry the role, so a role change invalidates the ones already issued
+        if (employee.getUser() != null && !Objects.equals(oldRole, newRole)) {
+            tokenVersionService.revokeTokens(employee.getUser().getId());
+        }
         
         EmployeeDto result = convertToDto(employee);
-        System.out.println("Returning DTO with department: " + result.getDepartmentName());
-        System.out.println("Returning DTO with date of joining: " + result.getDateOfJoining());
-        System.out.println("=== BACKEND: UPDATE COMPLETE ===");
-        
+        logger.debug("Updated employee id={} department={} dateOfJoining={}",
+                result.getId(), result.getDepartmentName(), result.getDateOfJoining());
+
         return result;
     }
 
     public void deleteEmployee(Long id) {
+        // Reports are deleted with their manager (cascade), so they leave every counter, index and
+        // cache too, and their tokens are revoked. Read what that needs before the rows are gone.
+        List<Long> deleted = new ArrayList<>();
+        deleted.add(id);
+        for (long reportId : orgChartIndexService.getReportIds(id, false)) {
+            deleted.add(reportId);
+        }
+        List<String[]> counted = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>();
+        for (Employee emp : employeeRepository.findSummaryByIdIn(deleted)) {
+            counted.add(new String[]{primaryRole(emp), departmentName(emp)});
+            if (emp.getUser() != null) {
+                userIds.add(emp.getUser().getId());
+            }
+        }
+
         employeeRepository.deleteById(id);
+        long[] removed = orgChartIndexService.remove(id);
+        if (removed.length == 0) {
+            removed = new long[]{id};
+        }
+        teamMemberService.evictEmployees(removed);
+        for (long removedId : removed) {
+            employeeIdentityService.evictEmployee(removedId);
+            skillIndexService.remove(removedId);
+        }
+        counted.forEach(row -> dashboardCounterService.employeeRemoved(row[0], row[1]));
+        userIds.forEach(tokenVersionService::revokeTokens);
     }
 
     public List<EmployeeDto> getEmployeesByManager(Long managerId) {
-        return employeeRepository.findByManagerId(managerId).stream()
+        return employeeRepository.findTeamByManagerId(managerId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
-    public List<EmployeeDto> getTeamMembers(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
-
-        // Get employees working on the same projects
-        List<Project> projects = projectRepository.findByEmployeeId(employeeId);
-        List<Employee> teamMembers = projects.stream()
-                .flatMap(project -> project.getEmployees().stream())
-                .filter(emp -> !emp.getId().equals(employeeId))
-                .distinct()
-                .collect(Collectors.toList());
-
-        return teamMembers.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public List<TeamMemberDto> getTeamMembers(Long employeeId) {
+        return teamMemberService.getTeamMembers(employeeId);
     }
 
     private EmployeeDto convertToDto(Employee employee) {
@@ -350,10 +415,6 @@ public class EmployeeService {
         dto.setDateOfJoining(employee.getDateOfJoining());
         dto.setFullName(employee.getFullName());
         
-        System.out.println("Converting employee to DTO:");
-        System.out.println("Employee date of joining: " + employee.getDateOfJoining());
-        System.out.println("Employee department: " + (employee.getDepartment() != null ? employee.getDepartment().getName() + " (ID: " + employee.getDepartment().getId() + ")" : "null"));
-        
         // Add role information from user
         if (employee.getUser() != null && employee.getUser().getRoles() != null) {
             String role = employee.getUser().getRoles().stream()
@@ -372,13 +433,7 @@ public class EmployeeService {
             dto.setDepartmentId(employee.getDepartment().getId());
             dto.setDepartmentName(employee.getDepartment().getName());
             dto.setDepartmentCode(employee.getDepartment().getCode());
-            System.out.println("Set DTO department ID: " + dto.getDepartmentId());
-            System.out.println("Set DTO department name: " + dto.getDepartmentName());
         }
-        
-        System.out.println("Final DTO date of joining: " + dto.getDateOfJoining());
-        System.out.println("Final DTO department ID: " + dto.getDepartmentId());
-        System.out.println("Final DTO department name: " + dto.getDepartmentName());
 
         if (employee.getProjects() != null) {
             dto.setProjects(employee.getProjects().stream()
@@ -405,67 +460,22 @@ public class EmployeeService {
         return dto;
     }
 
-    private String generateEmployeeId() {
-        try {
-            // Use efficient query to find the highest employee ID
-            org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(0, 1);
-            List<String> topIds = employeeRepository.findTopEmployeeIdsByPattern(pageable);
-            
-            int maxNumber = 0;
-            
-            if (!topIds.isEmpty()) {
-                String topId = topIds.get(0);
-                if (topId != null && topId.startsWith("EMP")) {
-                    try {
-                        String numberPart = topId.substring(3); // Remove "EMP" prefix
-                        maxNumber = Integer.parseInt(numberPart);
-                    } catch (NumberFormatException e) {
-                        System.out.println("Error parsing top employee ID: " + topId + ", defaulting to 0");
-                        maxNumber = 0;
-                    }
-                }
-            }
-            
-            // Increment and format with zero padding
-            int nextNumber = maxNumber + 1;
-            String newId = String.format("EMP%03d", nextNumber); // EMP001, EMP002, etc.
-            
-            System.out.println("Generated new employee ID: " + newId + " (previous max: " + maxNumber + ")");
-            return newId;
-            
-        } catch (Exception e) {
-            // Fallback to the original method if query fails
-            System.out.println("Query failed, using fallback method: " + e.getMessage());
-            return generateEmployeeIdFallback();
+    private String primaryRole(Employee employee) {
+        if (employee.getUser() == null || employee.getUser().getRoles() == null) {
+            return null;
         }
+        return employee.getUser().getRoles().stream()
+                .map(roleEntity -> roleEntity.getName().name())
+                .findFirst()
+                .orElse(null);
     }
-    
-    private String generateEmployeeIdFallback() {
-        // Fallback method - scan all employees manually
-        List<Employee> allEmployees = employeeRepository.findAll();
-        
-        int maxNumber = 0;
-        
-        // Extract the numeric part from existing employee IDs
-        for (Employee employee : allEmployees) {
-            String employeeId = employee.getEmployeeId();
-            if (employeeId != null && employeeId.startsWith("EMP") && employeeId.length() >= 6) {
-                try {
-                    String numberPart = employeeId.substring(3); // Remove "EMP" prefix
-                    int number = Integer.parseInt(numberPart);
-                    if (number > maxNumber) {
-                        maxNumber = number;
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip invalid employee IDs
-                    System.out.println("Skipping invalid employee ID: " + employeeId);
-                }
-            }
-        }
-        
-        // Increment and format with zero padding
-        int nextNumber = maxNumber + 1;
-        return String.format("EMP%03d", nextNumber); // EMP001, EMP002, etc.
+
+    private String departmentName(Employee employee) {
+        return employee.getDepartment() != null ? employee.getDepartment().getName() : null;
+    }
+
+    private Long managerId(Employee employee) {
+        return employee.getManager() != null ? employee.getManager().getId() : null;
     }
     
 }
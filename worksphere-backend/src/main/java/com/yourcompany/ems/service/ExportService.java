@@ -0,0 +1,333 @@
+package com.yourcompany.ems.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.entity.PerformanceFeedback;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.LeaveRequestRepository;
+import com.yourcompany.ems.repository.PerformanceFeedbackRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming CSV/NDJSON exports of employees, projects, leave requests and feedback.
+ *
+ * Rows are read from a repository Stream (a JDBC cursor) and written to the output one at a
+ * time. The persistence context is cleared every {@link #CLEAR_INTERVAL} rows, so the entities
+ * already written are detached and memory stays flat however many rows are exported.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Matches the fetch size of the repositories' streamAllForExport queries
+    private static final int CLEAR_INTERVAL = 500;
+
+    public enum Format {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format from(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value + ". Supported formats are: csv, ndjson");
+            }
+        }
+    }
+
+    public enum Dataset {
+        EMPLOYEES, PROJECTS, LEAVES, FEEDBACK;
+
+        public static Dataset from(String value) {
+            try {
+                return Dataset.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unknown export: " + value + ". Available exports are: employees, projects, leaves, feedback");
+            }
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final Map<Dataset, Export<?>> exports = new LinkedHashMap<>();
+
+    @Autowired
+    public ExportService(EmployeeRepository employeeRepository,
+                         ProjectRepository projectRepository,
+                         LeaveRequestRepository leaveRequestRepository,
+                         PerformanceFeedbackRepository performanceFeedbackRepository,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        exports.put(Dataset.EMPLOYEES, new Export<Employee>(employeeRepository::streamAllForExport)
+                .column("id", Employee::getId)
+                .column("employeeId", Employee::getEmployeeId)
+                .column("firstName", Employee::getFirstName)
+                .column("lastName", Employee::getLastName)
+                .column("email", Employee::getEmail)
+                .column("contact", Employee::getContact)
+                .column("address", Employee::getAddress)
+                .column("city", Employee::getCity)
+                .column("bloodGroup", Employee::getBloodGroup)
+                .column("skills", Employee::getSkills)
+                .column("experience", Employee::getExperience)
+                .column("dateOfBirth", Employee::getDateOfBirth)
+                .column("dateOfJoining", Employee::getDateOfJoining)
+                .column("departmentCode", e -> e.getDepartment() != null ? e.getDepartment().getCode() : null)
+                .column("departmentName", e -> e.getDepartment() != null ? e.getDepartment().getName() : null)
+                .column("managerId", e -> e.getManager() != null ? e.getManager().getId() : null)
+                .column("managerName", e -> e.getManager() != null ? e.getManager().getFullName() : null)
+                .column("role", ExportService::role));
+
+        exports.put(Dataset.PROJECTS, new Export<Project>(projectRepository::streamAllForExport)
+                .column("id", Project::getId)
+                .column("projectCode", Project::getProjectCode)
+                .column("name", Project::getName)
+                .column("description", Project::getDescription)
+                .column("status", Project::getStatus)
+                .column("startDate", Project::getStartDate)
+                .column("endDate", Project::getEndDate)
+                .column("managerId", p -> p.getManager() != null ? p.getManager().getId() : null)
+                .column("managerName", p -> p.getManager() != null ? p.getManager().getFullName() : null));
+
+        exports.put(Dataset.LEAVES, new Export<LeaveRequest>(leaveRequestRepository::streamAllForExport)
+                .column("id", LeaveRequest::getId)
+                .column("employeeId", l -> l.getEmployee().getId())
+                .column("employeeName", l -> l.getEmployee().getFullName())
+                .column("managerId", l -> l.getManager().getId())
+                .column("managerName", l -> l.getManager().getFullName())
+                .column("leaveType", LeaveRequest::getLeaveType)
+                .column("startDate", LeaveRequest::getStartDate)
+                .column("endDate", LeaveRequest::getEndDate)
+                .column("reason", LeaveRequest::getReason)
+                .column("status", LeaveRequest::getStatus)
+                .column("createdAt", LeaveRequest::getCreatedAt));
+
+        exports.put(Dataset.FEEDBACK, new Export<PerformanceFeedback>(performanceFeedbackRepository::streamAllForExport)
+                .column("id", PerformanceFeedback::getId)
+                .column("employeeId", f -> f.getEmployee().getId())
+                .column("employeeName", f -> f.getEmployee().getFullName())
+                .column("managerId", f -> f.getManager().getId())
+                .column("managerName", f -> f.getManager().getFullName())
+                .column("sprintNumber", PerformanceFeedback::getSprintNumber)
+                .column("performanceScore", PerformanceFeedback::getPerformanceScore)
+                .column("comments", PerformanceFeedback::getComments)
+                .column("createdAt", PerformanceFeedback::getCreatedAt));
+    }
+
+    /**
+     * Validate a comma-separated column selection; null or blank selects every column.
+     * Called before the response starts, so a bad request still gets a proper error.
+     */
+    public List<String> resolveColumns(Dataset dataset, String requested) {
+        Export<?> export = exports.get(dataset);
+        if (requested == null || requested.isBlank()) {
+            return new ArrayList<>(export.columns.keySet());
+        }
+        List<String> columns = Arrays.stream(requested.split(","))
+                .map(String::trim)
+                .filter(column -> !column.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        for (String column : columns) {
+            if (!export.columns.containsKey(column)) {
+                throw new RuntimeException("Unknown column: " + column + ". Available columns are: "
+                        + String.join(", ", export.columns.keySet()));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Write the dataset to the output stream and return the number of rows written.
+     * The caller owns the stream and closes it.
+     */
+    public long export(Dataset dataset, List<String> columns, Format format, OutputStream output) {
+        Export<?> export = exports.get(dataset);
+        long started = System.currentTimeMillis();
+        Long rows = readOnlyTransaction.execute(status -> write(export, columns, format, output));
+        logger.info("Exported {} {} rows as {} in {} ms", rows, dataset.name().toLowerCase(Locale.ROOT),
+                format.getExtension(), System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    private <T> long write(Export<T> export, List<String> columns, Format format, OutputStream output) {
+        List<Function<T, Object>> extractors = columns.stream()
+                .map(export.columns::get)
+                .collect(Collectors.toList());
+        long count = 0;
+        try (Stream<T> stream = export.source.get();
+             RowWriter writer = format == Format.CSV ? new CsvRowWriter(columns, output) : new NdjsonRowWriter(columns, output)) {
+            Iterator<T> rows = stream.iterator();
+            Object[] values = new Object[extractors.size()];
+            while (rows.hasNext()) {
+                T row = rows.next();
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = extractors.get(i).apply(row);
+                }
+                writer.write(values);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export aborted after " + count + " rows", e);
+        }
+        return count;
+    }
+
+    private static String role(Employee employee) {
+        if (employee.getUser() == null || employee.getUser().getRoles() == null) {
+            return null;
+        }
+        return employee.getUser().getRoles().stream()
+                .map(role -> role.getName().name())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static final class Export<T> {
+        private final Supplier<Stream<T>> source;
+        private final Map<String, Function<T, Object>> columns = new LinkedHashMap<>();
+
+        private Export(Supplier<Stream<T>> source) {
+            this.source = source;
+        }
+
+        private Export<T> column(String name, Function<T, Object> extractor) {
+            columns.put(name, extractor);
+            return this;
+        }
+    }
+
+    private interface RowWriter extends Closeable {
+        void write(Object[] values) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    // Header row, then one line per row; values are written with their toString() form
+    private final class CsvRowWriter implements RowWriter {
+        private final SequenceWriter writer;
+        private final String[] line;
+
+        private CsvRowWriter(List<String> columns, OutputStream output) throws IOException {
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            columns.forEach(schema::addColumn);
+            this.writer = csvMapper.writer(schema.build()).writeValues(output);
+            this.line = new String[columns.size()];
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                line[i] = values[i] != null ? values[i].toString() : null;
+            }
+            writer.write(line);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // One JSON object per line, using the application's date and enum formats
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final List<String> columns;
+
+        private NdjsonRowWriter(List<String> columns, OutputStream output) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(output);
+            this.generator.setRootValueSeparator(null);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                row.put(columns.get(i), values[i]);
+            }
+            ndjsonWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
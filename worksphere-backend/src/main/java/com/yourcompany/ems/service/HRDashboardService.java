@@ -1,10 +1,6 @@
 package com.yourcompany.ems.service;
 
-import com.yourcompany.ems.entity.LeaveRequest;
-import com.yourcompany.ems.entity.Project;
-import com.yourcompany.ems.repository.EmployeeRepository;
-import com.yourcompany.ems.repository.LeaveRequestRepository;
-import com.yourcompany.ems.repository.ProjectRepository;
+import com.yourcompany.ems.dto.DashboardStatsDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,13 +11,7 @@ import java.util.Map;
 public class HRDashboardService {
 
     @Autowired
-    private EmployeeRepository employeeRepository;
-
-    @Autowired
-    private ProjectRepository projectRepository;
-
-    @Autowired
-    private LeaveRequestRepository leaveRequestRepository;
+    private DashboardCounterService dashboardCounterService;
 
     @Autowired
     private EmployeeService employeeService;
@@ -33,24 +23,19 @@ public class HRDashboardService {
     public Map<String, Object> getDashboardStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        // Get total employees count
-        long totalEmployees = employeeRepository.count();
-        
-        // Get active projects count
-        long activeProjects = projectRepository.findByStatus(Project.ProjectStatus.ACTIVE).size();
-        
-        // Get pending leaves count
-        long pendingLeaves = leaveRequestRepository.findByStatus(LeaveRequest.LeaveStatus.PENDING).size();
+        // Counters are answered from memory, see DashboardCounterService
+        DashboardStatsDto counts = dashboardCounterService.snapshot();
         
         // Get recent employees (limit to 2 for dashboard)
         // Note: This would require having the EmployeeService injected
         // List<EmployeeDto> recentEmployees = employeeService.getRecentEmployees(2);
         
-        stats.put("totalEmployees", totalEmployees);
-        stats.put("activeProjects", activeProjects);
-        stats.put("pendingLeaves", pendingLeaves);
+        stats.put("totalEmployees", counts.getTotalEmployees());
+        stats.put("activeProjects", counts.getActiveProjects());
+        stats.put("pendingLeaves", counts.getPendingLeaves());
+        stats.put("departmentHeadcounts", counts.getDepartmentHeadcounts());
         // stats.put("recentEmployees", recentEmployees);
         
         return stats;
     }
-}
\ No newline at end of file
+}
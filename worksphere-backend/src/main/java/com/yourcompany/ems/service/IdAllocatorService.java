@@ -0,0 +1,172 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.IdSequence;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.IdSequenceRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hi/lo allocator for employee (EMP001) and project (PRJ001) codes.
+ *
+ * Each node leases a block of numbers from the id_sequences table by advancing the row under a
+ * lock, in its own transaction, and then hands the numbers out from an AtomicLong. Most calls
+ * never touch the database, and concurrent callers on any node never get the same number.
+ * Numbers left in a block when the node stops are skipped, so codes may have gaps.
+ *
+ * A sequence row is created the first time it is needed, starting after the highest code
+ * already present in its table. Nodes racing to create it, or deadlocking on the missing row's
+ * gap lock (MySQL), retry the lease.
+ */
+@Service
+public class IdAllocatorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdAllocatorService.class);
+
+    private static final int LEASE_ATTEMPTS = 3;
+
+    public static final String EMPLOYEE_PREFIX = "EMP";
+    public static final String PROJECT_PREFIX = "PRJ";
+
+    private final IdSequenceRepository idSequenceRepository;
+    private final TransactionTemplate leaseTransaction;
+
+    private final Sequence employeeSequence;
+    private final Sequence projectSequence;
+
+    @Value("${id.allocator.block-size:100}")
+    private int blockSize = 100;
+
+    @Autowired
+    public IdAllocatorService(IdSequenceRepository idSequenceRepository,
+                              EmployeeRepository employeeRepository,
+                              ProjectRepository projectRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.idSequenceRepository = idSequenceRepository;
+        // A lease must commit even if the caller's transaction rolls back, or the block would be handed out twice
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.employeeSequence = new Sequence(EMPLOYEE_PREFIX, employeeRepository::findAllEmployeeIdsWithPrefix);
+        this.projectSequence = new Sequence(PROJECT_PREFIX, projectRepository::findAllProjectCodesWithPrefix);
+    }
+
+    public String nextEmployeeId() {
+        return format(EMPLOYEE_PREFIX, employeeSequence.next(1));
+    }
+
+    /**
+     * A run of consecutive employee ids, e.g. for one batch of a bulk import.
+     */
+    public List<String> nextEmployeeIds(int count) {
+        long first = employeeSequence.next(count);
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(format(EMPLOYEE_PREFIX, first + i));
+        }
+        return ids;
+    }
+
+    public String nextProjectCode() {
+        return format(PROJECT_PREFIX, projectSequence.next(1));
+    }
+
+    private static String format(String prefix, long number) {
+        return String.format("%s%03d", prefix, number); // EMP001, EMP002, etc.
+    }
+
+    /**
+     * Reserve [start, start + size) in the database and return start.
+     */
+    private long lease(Sequence sequence, int size) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Long start = leaseTransaction.execute(status -> {
+                    IdSequence row = idSequenceRepository.findForUpdate(sequence.name)
+                            .orElseGet(() -> new IdSequence(sequence.name, sequence.highestExisting() + 1));
+                    long first = row.getNextValue();
+                    row.setNextValue(first + size);
+                    idSequenceRepository.saveAndFlush(row);
+                    return first;
+                });
+                logger.debug("Leased {} ids {} to {}", sequence.name, start, start + size - 1);
+                return start;
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                // Another node created the sequence row first, or both locked the missing row and one
+                // lost the deadlock on insert: lock the row again and lease from there
+                if (attempt + 1 >= LEASE_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Retrying lease of {} ids: {}", sequence.name, e.getMessage());
+            }
+        }
+    }
+
+    private final class Sequence {
+        private final String name;
+        private final Supplier<List<String>> existingCodes;
+        private volatile Block block;
+
+        private Sequence(String name, Supplier<List<String>> existingCodes) {
+            this.name = name;
+            this.existingCodes = existingCodes;
+        }
+
+        long next(int count) {
+            if (count >= blockSize) {
+                // Larger than a block: lease exactly what is needed without touching the current block
+                return lease(this, count);
+            }
+            while (true) {
+                Block current = block;
+                if (current != null) {
+                    long first = current.next.getAndAdd(count);
+                    if (first + count <= current.end) {
+                        return first;
+                    }
+                }
+                synchronized (this) {
+                    if (block == current) {
+                        long start = lease(this, blockSize);
+                        block = new Block(start, start + blockSize);
+                    }
+                }
+            }
+        }
+
+        long highestExisting() {
+            long max = 0;
+            for (String code : existingCodes.get()) {
+                try {
+                    max = Math.max(max, Long.parseLong(code.substring(name.length())));
+                } catch (NumberFormatException e) {
+                    // Hand-entered codes such as PRJ-ALPHA do not take part in the sequence
+                }
+            }
+            return max;
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.yourcompany.ems.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Bulk ID cards for a department or a joining date range, written as one ZIP.
+ *
+ * Cards are rendered on the {@link PdfRenderingService} pool, so bulk jobs and single downloads
+ * share the same CPU budget and disk cache. At most two cards per render thread are in flight.
+ * Each finished card is copied into the ZIP straight from the cache file, in completion order,
+ * before the next one is started. Memory use therefore stays flat however large the department.
+ *
+ * Every download is a job whose progress can be polled while the ZIP is being written. Finished
+ * jobs are forgotten after {@code pdf.batch.job-retention-minutes} without a status request.
+ */
+@Service
+public class IdCardBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdCardBatchService.class);
+
+    private static final int LOAD_BATCH_SIZE = 200;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long BUSY_RETRY_MS = 100;
+
+    public enum JobState {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final PdfRenderingService pdfRenderingService;
+    private final Cache<String, Job> jobs;
+
+    @Value("${pdf.render.timeout-ms:30000}")
+    private long renderTimeoutMs = 30000;
+
+    @Autowired
+    public IdCardBatchService(EmployeeRepository employeeRepository,
+                              PdfRenderingService pdfRenderingService,
+                              @Value("${pdf.batch.job-retention-minutes:60}") long retentionMinutes) {
+        this.employeeRepository = employeeRepository;
+        this.pdfRenderingService = pdfRenderingService;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(retentionMinutes))
+                .build();
+    }
+
+    /**
+     * Select the employees and register a job for them. Returns the job id.
+     */
+    public String startJob(Long departmentId, LocalDate joinedFrom, LocalDate joinedTo) {
+        if (departmentId == null && joinedFrom == null && joinedTo == null) {
+            throw new RuntimeException("A departmentId or a joining date range is required");
+        }
+        if (joinedFrom != null && joinedTo != null && joinedFrom.isAfter(joinedTo)) {
+            throw new RuntimeException("joinedFrom must not be after joinedTo");
+        }
+        List<Long> employeeIds = employeeRepository.findIdsForIdCards(departmentId, joinedFrom, joinedTo);
+
+        Map<String, Object> filter = new LinkedHashMap<>();
+        filter.put("departmentId", departmentId);
+        filter.put("joinedFrom", joinedFrom);
+        filter.put("joinedTo", joinedTo);
+        Job job = new Job(UUID.randomUUID().toString(), employeeIds, filter);
+        jobs.put(job.id, job);
+        logger.info("ID card job {} created for {} employees ({})", job.id, employeeIds.size(), filter);
+        return job.id;
+    }
+
+    public Map<String, Object> getJobStatus(String jobId) {
+        return requireJob(jobId).toStatus();
+    }
+
+    /**
+     * Render the job's cards and write them to the output as a ZIP. A job can be written once.
+     */
+    public void writeZip(String jobId, OutputStream output) throws IOException {
+        Job job = requireJob(jobId);
+        if (!job.started.compareAndSet(false, true)) {
+            throw new RuntimeException("ID card job " + jobId + " has already been downloaded");
+        }
+        job.state = JobState.RUNNING;
+        try {
+            ZipOutputStream zip = new ZipOutputStream(output);
+            zip.setLevel(Deflater.BEST_SPEED); // the PDFs are compressed already
+            render(job, zip);
+            zip.finish();
+            job.finish(JobState.COMPLETED, null);
+            logger.info("ID card job {} finished: {} cards, {} failed", job.id, job.completed.get(), job.failed.get());
+        } catch (IOException e) {
+            // Usually the client went away; cards already rendered stay in the cache
+            job.finish(JobState.FAILED, "Download interrupted: " + e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(JobState.FAILED, "Interrupted");
+            throw new RuntimeException("ID card job " + jobId + " was interrupted", e);
+        } catch (RuntimeException e) {
+            job.finish(JobState.FAILED, e.getMessage());
+            throw e;
+        }
+    }
+
+    private void render(Job job, ZipOutputStream zip) throws IOException, InterruptedException {
+        int window = pdfRenderingService.getRenderThreads() * 2;
+        BlockingQueue<RenderedCard> ready = new LinkedBlockingQueue<>();
+        EmployeeBatches employees = new EmployeeBatches(job);
+        Employee waiting = null;
+        int inFlight = 0;
+
+        while (waiting != null || employees.hasNext() || inFlight > 0) {
+            while (inFlight < window && (waiting != null || employees.hasNext())) {
+                Employee employee = waiting != null ? waiting : employees.next();
+                waiting = null;
+                try {
+                    Long id = employee.getId();
+                    String entryName = entryName(employee);
+                    pdfRenderingService.requestDocument(employee, PdfRenderingService.DocumentType.ID_CARD)
+                            .whenComplete((file, error) -> ready.add(new RenderedCard(id, entryName, file, error)));
+                    inFlight++;
+                } catch (RejectedExecutionException e) {
+                    // The pool is full of other requests: retry this card once something finishes
+                    waiting = employee;
+                    break;
+                }
+            }
+            if (inFlight == 0) {
+                Thread.sleep(BUSY_RETRY_MS);
+                continue;
+            }
+
+            RenderedCard card = ready.poll(renderTimeoutMs, TimeUnit.MILLISECONDS);
+            if (card == null) {
+                throw new RuntimeException("Timed out waiting for ID cards to render");
+            }
+            inFlight--;
+            if (card.error != null) {
+                job.recordFailure(card.employeeId, card.error.getMessage());
+                continue;
+            }
+            zip.putNextEntry(new ZipEntry(card.entryName));
+            Files.copy(card.file, zip);
+            zip.closeEntry();
+            job.completed.incrementAndGet();
+        }
+    }
+
+    private static String entryName(Employee employee) {
+        String code = employee.getEmployeeId() != null ? employee.getEmployeeId() : "employee";
+        // The database id keeps names unique even if hand-entered codes repeat
+        return code.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + employee.getId() + ".pdf";
+    }
+
+    private Job requireJob(String jobId) {
+        Job job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new RuntimeException("ID card job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Loads the job's employees LOAD_BATCH_SIZE at a time, with department and manager fetched.
+     */
+    private final class EmployeeBatches {
+        private final Job job;
+        private final Deque<Employee> loaded = new ArrayDeque<>();
+        private int nextIndex = 0;
+
+        private EmployeeBatches(Job job) {
+            this.job = job;
+        }
+
+        boolean hasNext() {
+            while (loaded.isEmpty() && nextIndex < job.employeeIds.size()) {
+                List<Long> ids = job.employeeIds.subList(nextIndex,
+                        Math.min(nextIndex + LOAD_BATCH_SIZE, job.employeeIds.size()));
+                nextIndex += ids.size();
+                List<Employee> employees = employeeRepository.findSummaryByIdIn(ids);
+                loaded.addAll(employees);
+                if (employees.size() < ids.size()) {
+                    List<Long> missing = new ArrayList<>(ids);
+                    employees.forEach(employee -> missing.remove(employee.getId()));
+                    missing.forEach(id -> job.recordFailure(id, "Employee no longer exists"));
+                }
+            }
+            return !loaded.isEmpty();
+        }
+
+        Employee next() {
+            return loaded.poll();
+        }
+    }
+
+    private static final class RenderedCard {
+        private final Long employeeId;
+        private final String entryName;
+        private final Path file;
+        private final Throwable error;
+
+        private RenderedCard(Long employeeId, String entryName, Path file, Throwable error) {
+            this.employeeId = employeeId;
+            this.entryName = entryName;
+            this.file = file;
+            this.error = error;
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final List<Long> employeeIds;
+        private final Map<String, Object> filter;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<Map<String, Object>> errors = new CopyOnWriteArrayList<>();
+        private volatile JobState state = JobState.PENDING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        private Job(String id, List<Long> employeeIds, Map<String, Object> filter) {
+            this.id = id;
+            this.employeeIds = employeeIds;
+            this.filter = filter;
+        }
+
+        void recordFailure(Long employeeId, String reason) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("employeeId", employeeId);
+                error.put("message", reason);
+                errors.add(error);
+            }
+        }
+
+        void finish(JobState finalState, String finalMessage) {
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        Map<String, Object> toStatus() {
+            int total = employeeIds.size();
+            int done = completed.get() + failed.get();
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("jobId", id);
+            status.put("state", state);
+            status.put("filter", filter);
+            status.put("total", total);
+            status.put("completed", completed.get());
+            status.put("failed", failed.get());
+            status.put("progressPercent", total == 0 ? 100 : done * 100 / total);
+            status.put("createdAt", createdAt);
+            status.put("finishedAt", finishedAt);
+            status.put("message", message);
+            status.put("errors", errors);
+            return status;
+        }
+    }
+}
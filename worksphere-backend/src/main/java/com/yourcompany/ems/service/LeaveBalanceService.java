@@ -0,0 +1,254 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.LeaveBalance;
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.repository.LeaveBalanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Leave balance ledger: approved and pending days per employee, calendar year and leave type.
+ *
+ * Every status change of a leave request moves its days between the totals with one upsert per
+ * year it touches, inside the transaction of the change, so reading a balance is a single row.
+ * Days are calendar days, split at year boundaries. The ledger can be recomputed from
+ * leave_requests with {@link #rebuild()}, which never runs twice at once on a node. It is not run
+ * automatically: call it once after upgrading, from one instance.
+ */
+@Service
+public class LeaveBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveBalanceService.class);
+
+    // Overwrites a row that a live transition created after the partition was cleared
+    private static final String INSERT_BALANCE = "INSERT INTO leave_balances " +
+            "(employee_id, balance_year, leave_type, approved_days, pending_days, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE approved_days = VALUES(approved_days), pending_days = VALUES(pending_days), " +
+            "updated_at = VALUES(updated_at)";
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate partitionTransaction;
+    private final Map<LeaveRequest.LeaveType, Integer> entitlements = new EnumMap<>(LeaveRequest.LeaveType.class);
+    private final int rebuildPartitions;
+    private final int rebuildBatchSize;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Autowired
+    public LeaveBalanceService(LeaveBalanceRepository leaveBalanceRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${leave.entitlement.paid-leave:20}") int paidLeaveDays,
+                               @Value("${leave.entitlement.sick-leave:10}") int sickLeaveDays,
+                               @Value("${leave.balance.rebuild-partitions:4}") int rebuildPartitions,
+                               @Value("${leave.balance.rebuild-batch-size:500}") int rebuildBatchSize) {
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildPartitions = Math.max(1, rebuildPartitions);
+        this.rebuildBatchSize = Math.max(1, rebuildBatchSize);
+        // Unpaid leave has no entitlement, so no remaining days are reported for it
+        entitlements.put(LeaveRequest.LeaveType.PAID_LEAVE, paidLeaveDays);
+        entitlements.put(LeaveRequest.LeaveType.SICK_LEAVE, sickLeaveDays);
+    }
+
+    /**
+     * Move a request's days between the totals. oldStatus is null for a new request and
+     * newStatus is null when the request is deleted. Must run in the transaction of the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(LeaveRequest leave, LeaveRequest.LeaveStatus oldStatus, LeaveRequest.LeaveStatus newStatus) {
+        int approved = weight(newStatus, LeaveRequest.LeaveStatus.APPROVED) - weight(oldStatus, LeaveRequest.LeaveStatus.APPROVED);
+        int pending = weight(newStatus, LeaveRequest.LeaveStatus.PENDING) - weight(oldStatus, LeaveRequest.LeaveStatus.PENDING);
+        if (approved == 0 && pending == 0) {
+            return;
+        }
+        Long employeeId = leave.getEmployee().getId();
+        String leaveType = leave.getLeaveType().name();
+        daysPerYear(leave.getStartDate(), leave.getEndDate()).forEach((year, days) ->
+                leaveBalanceRepository.addDays(employeeId, year, leaveType, approved * days, pending * days));
+    }
+
+    /**
+     * The balance of one leave type: a single row read.
+     */
+    public Map<String, Object> getBalance(Long employeeId, int year, LeaveRequest.LeaveType leaveType) {
+        LeaveBalance balance = leaveBalanceRepository.findByEmployeeIdAndYearAndLeaveType(employeeId, year, leaveType)
+                .orElse(null);
+        return toMap(employeeId, year, leaveType, balance);
+    }
+
+    /**
+     * The balances of every leave type in a year, zero for types without a row.
+     */
+    public List<Map<String, Object>> getBalances(Long employeeId, int year) {
+        Map<LeaveRequest.LeaveType, LeaveBalance> rows = new EnumMap<>(LeaveRequest.LeaveType.class);
+        for (LeaveBalance balance : leaveBalanceRepository.findByEmployeeIdAndYear(employeeId, year)) {
+            rows.put(balance.getLeaveType(), balance);
+        }
+        List<Map<String, Object>> balances = new ArrayList<>();
+        for (LeaveRequest.LeaveType leaveType : LeaveRequest.LeaveType.values()) {
+            balances.add(toMap(employeeId, year, leaveType, rows.get(leaveType)));
+        }
+        return balances;
+    }
+
+    /**
+     * Recompute the whole ledger from the pending and approved leave requests.
+     *
+     * Employees are split into partitions by id, and each partition is deleted, aggregated and
+     * re-inserted in its own transaction on its own thread. A leave changed while its partition
+     * is being rebuilt can be counted twice or missed, so run this while leave activity is quiet.
+     *
+     * Returns empty, without doing anything, if a rebuild is already running.
+     */
+    public Optional<Map<String, Object>> rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        int partitions = rebuildPartitions;
+        ExecutorService executor = Executors.newFixedThreadPool(partitions);
+        int rows = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                int current = partition;
+                results.add(executor.submit(() -> partitionTransaction.execute(status -> rebuildPartition(partitions, current))));
+            }
+            for (Future<Integer> result : results) {
+                rows += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Leave balance rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Leave balance rebuild failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            rebuilding.set(false);
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Leave balances rebuilt: {} rows in {} partitions in {} ms", rows, partitions, durationMs);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("partitions", partitions);
+        result.put("rows", rows);
+        result.put("durationMs", durationMs);
+        return Optional.of(result);
+    }
+
+    private int rebuildPartition(int partitions, int partition) {
+        jdbcTemplate.update("DELETE FROM leave_balances WHERE MOD(employee_id, ?) = ?", partitions, partition);
+
+        Map<BalanceKey, int[]> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT employee_id, leave_type, status, start_date, end_date FROM leave_requests " +
+                        "WHERE status IN ('PENDING', 'APPROVED') AND MOD(employee_id, ?) = ?",
+                rs -> {
+                    long employeeId = rs.getLong(1);
+                    LeaveRequest.LeaveType leaveType = LeaveRequest.LeaveType.valueOf(rs.getString(2));
+                    int column = LeaveRequest.LeaveStatus.APPROVED.name().equals(rs.getString(3)) ? 0 : 1;
+                    daysPerYear(rs.getDate(4).toLocalDate(), rs.getDate(5).toLocalDate()).forEach((year, days) ->
+                            totals.computeIfAbsent(new BalanceKey(employeeId, year, leaveType), key -> new int[2])[column] += days);
+                },
+                partitions, partition);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<BalanceKey, int[]>> entries = new ArrayList<>(totals.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_BALANCE, entries, rebuildBatchSize, (ps, entry) -> {
+            ps.setLong(1, entry.getKey().employeeId);
+            ps.setInt(2, entry.getKey().year);
+            ps.setString(3, entry.getKey().leaveType.name());
+            ps.setInt(4, entry.getValue()[0]);
+            ps.setInt(5, entry.getValue()[1]);
+            ps.setTimestamp(6, now);
+        });
+        return entries.size();
+    }
+
+    private Map<String, Object> toMap(Long employeeId, int year, LeaveRequest.LeaveType leaveType, LeaveBalance balance) {
+        int approved = balance != null ? balance.getApprovedDays() : 0;
+        int pending = balance != null ? balance.getPendingDays() : 0;
+        Integer entitlement = entitlements.get(leaveType);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("employeeId", employeeId);
+        result.put("year", year);
+        result.put("leaveType", leaveType.name());
+        result.put("entitlementDays", entitlement);
+        result.put("approvedDays", approved);
+        result.put("pendingDays", pending);
+        result.put("remainingDays", entitlement != null ? entitlement - approved - pending : null);
+        result.put("updatedAt", balance != null ? balance.getUpdatedAt() : null);
+        return result;
+    }
+
+    private static int weight(LeaveRequest.LeaveStatus status, LeaveRequest.LeaveStatus counted) {
+        return status == counted ? 1 : 0;
+    }
+
+    /**
+     * Calendar days of an inclusive date range, per year.
+     */
+    static Map<Integer, Integer> daysPerYear(LocalDate from, LocalDate to) {
+        Map<Integer, Integer> days = new LinkedHashMap<>();
+        for (LocalDate start = from; !start.isAfter(to); start = LocalDate.of(start.getYear() + 1, 1, 1)) {
+            LocalDate yearEnd = LocalDate.of(start.getYear(), 12, 31);
+            LocalDate end = to.isBefore(yearEnd) ? to : yearEnd;
+            days.put(start.getYear(), (int) ChronoUnit.DAYS.between(start, end) + 1);
+        }
+        return days;
+    }
+
+    private static final class BalanceKey {
+        private final long employeeId;
+        private final int year;
+        private final LeaveRequest.LeaveType leaveType;
+
+        private BalanceKey(long employeeId, int year, LeaveRequest.LeaveType leaveType) {
+            this.employeeId = employeeId;
+            this.year = year;
+            this.leaveType = leaveType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof BalanceKey)) {
+                return false;
+            }
+            BalanceKey key = (BalanceKey) other;
+            return employeeId == key.employeeId && year == key.year && leaveType == key.leaveType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, year, leaveType);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory calendar of pending and approved leave.
+ *
+ * Each employee's leave days are kept as bitsets, one small word array per calendar year
+ * (bit n = day n + 1 of the year), separately for approved and pending leave. Overlap checks and
+ * per-day team counts are word-level bit operations, so they take microseconds and never read
+ * the employee's leave history from the database.
+ *
+ * The calendar is built from leave_requests at startup. LeaveRequestService records every
+ * apply/approve/reject/delete right after saving it. If the surrounding transaction then rolls
+ * back, the employee's entry is reloaded from the database.
+ */
+@Service
+public class LeaveCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveCalendarService.class);
+
+    static final int MAX_RANGE_DAYS = 366;
+    private static final int WORDS_PER_YEAR = 6; // 366 bits
+
+    private static final List<LeaveRequest.LeaveStatus> ACTIVE =
+            List.of(LeaveRequest.LeaveStatus.PENDING, LeaveRequest.LeaveStatus.APPROVED);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final OrgChartIndexService orgChartIndexService;
+    private final Map<Long, EmployeeLeaves> calendars = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LeaveCalendarService(LeaveRequestRepository leaveRequestRepository,
+                                OrgChartIndexService orgChartIndexService) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.orgChartIndexService = orgChartIndexService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        Map<Long, List<Booking>> byEmployee = new HashMap<>();
+        List<Object[]> rows = leaveRequestRepository.findCalendarRows(ACTIVE);
+        for (Object[] row : rows) {
+            byEmployee.computeIfAbsent((Long) row[1], id -> new ArrayList<>()).add(toBooking(row));
+        }
+        calendars.clear();
+        byEmployee.forEach((employeeId, bookings) -> calendars.put(employeeId, new EmployeeLeaves(bookings)));
+        logger.info("Leave calendar built: {} leaves for {} employees in {} ms", rows.size(), byEmployee.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Record a leave after it has been saved. Pending and approved leave occupies its days; a
+     * rejected leave is removed. A leave not seen before is refused (RuntimeException) if it
+     * overlaps another pending or approved leave of the same employee.
+     */
+    public void record(LeaveRequest leave) {
+        Long employeeId = leave.getEmployee().getId();
+        Booking booking = new Booking(leave.getId(), leave.getStartDate(), leave.getEndDate(), leave.getStatus());
+        calendars.compute(employeeId, (id, current) -> {
+            List<Booking> bookings = new ArrayList<>();
+            boolean known = false;
+            if (current != null) {
+                for (Booking existing : current.bookings) {
+                    if (existing.leaveId.equals(booking.leaveId)) {
+                        known = true;
+                    } else {
+                        bookings.add(existing);
+                    }
+                }
+            }
+            if (booking.status != LeaveRequest.LeaveStatus.REJECTED) {
+                if (!known && current != null) {
+                    LocalDate busy = current.firstBusyDay(booking.startDate, booking.endDate);
+                    if (busy != null) {
+                        throw new RuntimeException("Leave overlaps another pending or approved leave on " + busy);
+                    }
+                }
+                bookings.add(booking);
+            }
+            return bookings.isEmpty() ? null : new EmployeeLeaves(bookings);
+        });
+        reloadOnRollback(employeeId);
+    }
+
+    public void remove(Long employeeId, Long leaveId) {
+        calendars.computeIfPresent(employeeId, (id, current) -> {
+            List<Booking> bookings = new ArrayList<>(current.bookings);
+            bookings.removeIf(booking -> booking.leaveId.equals(leaveId));
+            return bookings.isEmpty() ? null : new EmployeeLeaves(bookings);
+        });
+        reloadOnRollback(employeeId);
+    }
+
+    /**
+     * The first day in [from, to] on which the employee already has pending or approved leave.
+     */
+    public LocalDate findOverlap(Long employeeId, LocalDate from, LocalDate to) {
+        EmployeeLeaves leaves = calendars.get(employeeId);
+        return leaves != null ? leaves.firstBusyDay(from, to) : null;
+    }
+
+    /**
+     * How many of the manager's direct reports are on approved or pending leave on each day of
+     * the range. The employee asking for leave, if given, is left out of the team.
+     */
+    public Map<String, Object> getTeamCoverage(Long managerId, Long excludedEmployeeId, LocalDate from, LocalDate to) {
+        int days = rangeDays(from, to);
+        int[] onLeave = new int[days];
+        int[] pending = new int[days];
+        int teamSize = 0;
+        for (long employeeId : orgChartIndexService.getReportIds(managerId, true)) {
+            if (excludedEmployeeId != null && excludedEmployeeId == employeeId) {
+                continue;
+            }
+            teamSize++;
+            EmployeeLeaves leaves = calendars.get(employeeId);
+            if (leaves != null) {
+                leaves.approved.addTo(onLeave, from);
+                leaves.pending.addTo(pending, from);
+            }
+        }
+
+        List<Map<String, Object>> perDay = new ArrayList<>(days);
+        int minAvailable = teamSize;
+        for (int day = 0; day < days; day++) {
+            int available = teamSize - onLeave[day] - pending[day];
+            minAvailable = Math.min(minAvailable, available);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("date", from.plusDays(day));
+            entry.put("onLeave", onLeave[day]);
+            entry.put("pending", pending[day]);
+            entry.put("available", available);
+            entry.put("availablePercent", teamSize == 0 ? 100 : available * 100 / teamSize);
+            perDay.add(entry);
+        }
+
+        Map<String, Object> coverage = new LinkedHashMap<>();
+        coverage.put("managerId", managerId);
+        coverage.put("teamSize", teamSize);
+        coverage.put("from", from);
+        coverage.put("to", to);
+        coverage.put("minAvailable", minAvailable);
+        coverage.put("days", perDay);
+        return coverage;
+    }
+
+    /**
+     * For each day in [from, to], how many of the employees are on approved leave. One pass over
+     * the employees, touching only the words of the range and only their set bits.
+     */
+    public int[] countApprovedLeave(long[] employeeIds, LocalDate from, LocalDate to) {
+        int[] counts = new int[rangeDays(from, to)];
+        for (long employeeId : employeeIds) {
+            EmployeeLeaves leaves = calendars.get(employeeId);
+            if (leaves != null) {
+                leaves.approved.addTo(counts, from);
+            }
+        }
+        return counts;
+    }
+
+    static int rangeDays(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new RuntimeException("A date range with from <= to is required");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+        return (int) days;
+    }
+
+    private void reloadOnRollback(Long employeeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    reload(employeeId);
+                }
+            }
+        });
+    }
+
+    private void reload(Long employeeId) {
+        List<Booking> bookings = new ArrayList<>();
+        for (Object[] row : leaveRequestRepository.findCalendarRowsByEmployeeId(employeeId, ACTIVE)) {
+            bookings.add(toBooking(row));
+        }
+        if (bookings.isEmpty()) {
+            calendars.remove(employeeId);
+        } else {
+            calendars.put(employeeId, new EmployeeLeaves(bookings));
+        }
+    }
+
+    private static Booking toBooking(Object[] row) {
+        return new Booking((Long) row[0], (LocalDate) row[2], (LocalDate) row[3], (LeaveRequest.LeaveStatus) row[4]);
+    }
+
+    private static final class Booking {
+        private final Long leaveId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final LeaveRequest.LeaveStatus status;
+
+        private Booking(Long leaveId, LocalDate startDate, LocalDate endDate, LeaveRequest.LeaveStatus status) {
+            this.leaveId = leaveId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.status = status;
+        }
+    }
+
+    /**
+     * One employee's leave; immutable once built and replaced as a whole on every change.
+     */
+    private static final class EmployeeLeaves {
+        private final List<Booking> bookings;
+        private final DayBits approved = new DayBits();
+        private final DayBits pending = new DayBits();
+
+        private EmployeeLeaves(List<Booking> bookings) {
+            this.bookings = List.copyOf(bookings);
+            for (Booking booking : bookings) {
+                DayBits days = booking.status == LeaveRequest.LeaveStatus.APPROVED ? approved : pending;
+                days.set(booking.startDate, booking.endDate);
+            }
+        }
+
+        LocalDate firstBusyDay(LocalDate from, LocalDate to) {
+            int a = approved.first(from, to);
+            int p = pending.first(from, to);
+            if (a < 0 && p < 0) {
+                return null;
+            }
+            return from.plusDays(a < 0 ? p : p < 0 ? a : Math.min(a, p));
+        }
+    }
+
+    /**
+     * A set of days, stored as one bit per day of each calendar year.
+     */
+    static final class DayBits {
+        private final Map<Integer, long[]> years = new HashMap<>();
+
+        void set(LocalDate from, LocalDate to) {
+            for (int year = from.getYear(); year <= to.getYear(); year++) {
+                long[] words = years.computeIfAbsent(year, y -> new long[WORDS_PER_YEAR]);
+                int lo = firstIndex(from, year);
+                int hi = lastIndex(to, year);
+                for (int w = lo >>> 6; w <= hi >>> 6; w++) {
+                    words[w] |= mask(w, lo, hi);
+                }
+            }
+        }
+
+        /**
+         * Days after {@code from} of the first set day in [from, to], or -1 if there is none.
+         */
+        int first(LocalDate from, LocalDate to) {
+            for (int year = from.getYear(); year <= to.getYear(); year++) {
+                long[] words = years.get(year);
+                if (words == null) {
+                    continue;
+                }
+                int lo = firstIndex(from, year);
+                int hi = lastIndex(to, year);
+                for (int w = lo >>> 6; w <= hi >>> 6; w++) {
+                    long word = words[w] & mask(w, lo, hi);
+                    if (word != 0) {
+                        return offset(from, year) + (w << 6) + Long.numberOfTrailingZeros(word);
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Add one to counts[n] for every set day from + n, for n in [0, counts.length).
+         */
+        void addTo(int[] counts, LocalDate from) {
+            LocalDate to = from.plusDays(counts.length - 1L);
+            for (int year = from.getYear(); year <= to.getYear(); year++) {
+                long[] words = years.get(year);
+                if (words == null) {
+                    continue;
+                }
+                int lo = firstIndex(from, year);
+                int hi = lastIndex(to, year);
+                int base = offset(from, year);
+                for (int w = lo >>> 6; w <= hi >>> 6; w++) {
+                    long word = words[w] & mask(w, lo, hi);
+                    while (word != 0) {
+                        counts[base + (w << 6) + Long.numberOfTrailingZeros(word)]++;
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+
+        private static int firstIndex(LocalDate from, int year) {
+            return from.getYear() == year ? from.getDayOfYear() - 1 : 0;
+        }
+
+        private static int lastIndex(LocalDate to, int year) {
+            return to.getYear() == year ? to.getDayOfYear() - 1 : Year.of(year).length() - 1;
+        }
+
+        // Days from `from` to January 1st of the year (negative for from's own year)
+        private static int offset(LocalDate from, int year) {
+            return (int) (LocalDate.of(year, 1, 1).toEpochDay() - from.toEpochDay());
+        }
+
+        // Bits of word w that fall inside the day indexes [lo, hi]
+        private static long mask(int w, int lo, int hi) {
+            long mask = -1L;
+            if (w == lo >>> 6) {
+                mask &= -1L << (lo & 63);
+            }
+            if (w == hi >>> 6) {
+                mask &= -1L >>> (63 - (hi & 63));
+            }
+            return mask;
+        }
+    }
+}
@@ -3,18 +3,25 @@ package com.yourcompany.ems.service;
 import com.yourcompany.ems.dto.LeaveRequestDto;
 import com.yourcompany.ems.entity.Employee;
 import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.mapper.LeaveRequestMapper;
 import com.yourcompany.ems.repository.EmployeeRepository;
 import com.yourcompany.ems.repository.LeaveRequestRepository;
-import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class LeaveRequestService {
 
+    private static final Logger logger = LoggerFactory.getLogger(LeaveRequestService.class);
+
     @Autowired
     private LeaveRequestRepository leaveRequestRepository;
 
@@ -22,23 +29,45 @@ public class LeaveRequestService {
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private LeaveRequestMapper leaveRequestMapper;
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
 
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private LeaveCalendarService leaveCalendarService;
+
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+
+    @Transactional
     public LeaveRequestDto applyForLeave(LeaveRequestDto leaveRequestDto) {
+        if (leaveRequestDto.getStartDate() == null || leaveRequestDto.getEndDate() == null) {
+            throw new RuntimeException("Start and end dates are required");
+        }
+        if (leaveRequestDto.getEndDate().isBefore(leaveRequestDto.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
         Employee employee = employeeRepository.findById(leaveRequestDto.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
         
         Employee manager = employeeRepository.findById(leaveRequestDto.getManagerId())
                 .orElseThrow(() -> new RuntimeException("Manager not found"));
 
-        LeaveRequest leaveRequest = modelMapper.map(leaveRequestDto, LeaveRequest.class);
+        LeaveRequest leaveRequest = leaveRequestMapper.toEntity(leaveRequestDto);
         leaveRequest.setEmployee(employee);
         leaveRequest.setManager(manager);
         leaveRequest.setStatus(LeaveRequest.LeaveStatus.PENDING);
 
         leaveRequest = leaveRequestRepository.save(leaveRequest);
+        // Refuses overlapping requests; the exception rolls the insert back
+        leaveCalendarService.record(leaveRequest);
+        leaveBalanceService.recordTransition(leaveRequest, null, LeaveRequest.LeaveStatus.PENDING);
+        dashboardCounterService.leaveStatusChanged(null, LeaveRequest.LeaveStatus.PENDING.name());
         
-        // TODO: Send notification to manager
         sendNotificationToManager(manager, employee, leaveRequest);
         
         return convertToDto(leaveRequest);
@@ -62,27 +91,35 @@ public class LeaveRequestService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public LeaveRequestDto approveLeave(Long leaveId) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveId)
                 .orElseThrow(() -> new RuntimeException("Leave request not found"));
+        LeaveRequest.LeaveStatus oldStatus = leaveRequest.getStatus();
         
         leaveRequest.setStatus(LeaveRequest.LeaveStatus.APPROVED);
         leaveRequest = leaveRequestRepository.save(leaveRequest);
+        leaveCalendarService.record(leaveRequest);
+        leaveBalanceService.recordTransition(leaveRequest, oldStatus, LeaveRequest.LeaveStatus.APPROVED);
+        dashboardCounterService.leaveStatusChanged(oldStatus.name(), LeaveRequest.LeaveStatus.APPROVED.name());
         
-        // TODO: Send notification to employee
         sendNotificationToEmployee(leaveRequest.getEmployee(), leaveRequest, "APPROVED");
         
         return convertToDto(leaveRequest);
     }
 
+    @Transactional
     public LeaveRequestDto rejectLeave(Long leaveId) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveId)
                 .orElseThrow(() -> new RuntimeException("Leave request not found"));
+        LeaveRequest.LeaveStatus oldStatus = leaveRequest.getStatus();
         
         leaveRequest.setStatus(LeaveRequest.LeaveStatus.REJECTED);
         leaveRequest = leaveRequestRepository.save(leaveRequest);
+        leaveCalendarService.record(leaveRequest);
+        leaveBalanceService.recordTransition(leaveRequest, oldStatus, LeaveRequest.LeaveStatus.REJECTED);
+        dashboardCounterService.leaveStatusChanged(oldStatus.name(), LeaveRequest.LeaveStatus.REJECTED.name());
         
-        // TODO: Send notification to employee
         sendNotificationToEmployee(leaveRequest.getEmployee(), leaveRequest, "REJECTED");
         
         return convertToDto(leaveRequest);
@@ -94,35 +131,68 @@ public class LeaveRequestService {
         return convertToDto(leaveRequest);
     }
 
+    @Transactional
     public void deleteLeave(Long id) {
+        Optional<LeaveRequest> leaveRequest = leaveRequestRepository.findById(id);
         leaveRequestRepository.deleteById(id);
+        leaveRequest.ifPresent(leave -> {
+            leaveCalendarService.remove(leave.getEmployee().getId(), leave.getId());
+            leaveBalanceService.recordTransition(leave, leave.getStatus(), null);
+            dashboardCounterService.leaveStatusChanged(leave.getStatus().name(), null);
+        });
     }
 
-    private LeaveRequestDto convertToDto(LeaveRequest leaveRequest) {
-        LeaveRequestDto dto = modelMapper.map(leaveRequest, LeaveRequestDto.class);
-        
-        if (leaveRequest.getEmployee() != null) {
-            dto.setEmployeeId(leaveRequest.getEmployee().getId());
-            dto.setEmployeeName(leaveRequest.getEmployee().getFullName());
+    /**
+     * Ledger balances of an employee for a year: one row for the given leave type, or every type.
+     */
+    public List<Map<String, Object>> getLeaveBalances(Long employeeId, int year, String leaveType) {
+        if (leaveType == null || leaveType.isBlank()) {
+            return leaveBalanceService.getBalances(employeeId, year);
         }
-
-        if (leaveRequest.getManager() != null) {
-            dto.setManagerId(leaveRequest.getManager().getId());
-            dto.setManagerName(leaveRequest.getManager().getFullName());
+        try {
+            return List.of(leaveBalanceService.getBalance(employeeId, year,
+                    LeaveRequest.LeaveType.valueOf(leaveType.trim().toUpperCase())));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown leave type: " + leaveType);
         }
+    }
 
-        return dto;
+    /**
+     * Per-day availability of the approving manager's team over the dates of a leave request.
+     */
+    public Map<String, Object> getTeamCoverage(Long leaveId) {
+        LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveId)
+                .orElseThrow(() -> new RuntimeException("Leave request not found"));
+        Map<String, Object> coverage = leaveCalendarService.getTeamCoverage(leaveRequest.getManager().getId(),
+                leaveRequest.getEmployee().getId(), leaveRequest.getStartDate(), leaveRequest.getEndDate());
+        coverage.put("leaveId", leaveId);
+        coverage.put("employeeId", leaveRequest.getEmployee().getId());
+        return coverage;
     }
 
+    private LeaveRequestDto convertToDto(LeaveRequest leaveRequest) {
+        return leaveRequestMapper.toDto(leaveRequest);
+    }
+
+    // Notifications go through the outbox: stored with the leave change, delivered after commit
     private void sendNotificationToManager(Employee manager, Employee employee, LeaveRequest leaveRequest) {
-        // TODO: Implement email notification or system notification
-        System.out.println("Notification sent to manager " + manager.getFullName() + 
-                " about leave request from " + employee.getFullName());
+        String subject = "Leave request from " + employee.getFullName();
+        String body = String.format("%s has requested %s from %s to %s.%nReason: %s",
+                employee.getFullName(), describe(leaveRequest.getLeaveType()), leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(), leaveRequest.getReason() != null ? leaveRequest.getReason() : "-");
+        notificationOutboxService.enqueue("LEAVE_REQUESTED", manager.getEmail(), subject, body);
     }
 
     private void sendNotificationToEmployee(Employee employee, LeaveRequest leaveRequest, String status) {
-        // TODO: Implement email notification or system notification
-        System.out.println("Notification sent to employee " + employee.getFullName() + 
-                " about leave request status: " + status);
+        String decision = status.toLowerCase();
+        String subject = "Your leave request was " + decision;
+        String body = String.format("Your %s request from %s to %s was %s by %s.",
+                describe(leaveRequest.getLeaveType()), leaveRequest.getStartDate(), leaveRequest.getEndDate(),
+                decision, leaveRequest.getManager().getFullName());
+        notificationOutboxService.enqueue("LEAVE_" + status, employee.getEmail(), subject, body);
+    }
+
+    private static String describe(LeaveRequest.LeaveType leaveType) {
+        return leaveType != null ? leaveType.name().toLowerCase().replace('_', ' ') : "leave";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.yourcompany.ems.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stand-in sender for local runs: writes each notification to the log instead of mailing it.
+ */
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public void send(String recipient, String subject, String body) {
+        logger.info("Notification to {}: {}\n{}", recipient, subject, body);
+    }
+}
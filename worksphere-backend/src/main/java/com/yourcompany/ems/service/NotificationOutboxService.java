@@ -0,0 +1,174 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.OutboxNotification;
+import com.yourcompany.ems.repository.OutboxNotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional outbox for notifications.
+ *
+ * {@link #enqueue} stores a notification in the caller's transaction, so it is sent only if the
+ * change it announces commits, and the caller never waits on delivery. A scheduled dispatcher
+ * claims due rows in batches and hands them to the {@link NotificationSender}. Failed deliveries
+ * are retried with exponential backoff until {@code notifications.max-attempts} is reached, after
+ * which the row is marked FAILED.
+ *
+ * Claiming moves a row's next attempt past {@code notifications.claim-timeout-ms} before sending,
+ * so other nodes skip it. If this node dies mid-batch, the row becomes due again after that time.
+ * Delivery is therefore at least once.
+ */
+@Service
+public class NotificationOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxNotificationRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final NotificationSender sender;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long claimTimeoutMs;
+
+    @Autowired
+    public NotificationOutboxService(OutboxNotificationRepository outboxRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     NotificationSender sender,
+                                     @Value("${notifications.batch-size:50}") int batchSize,
+                                     @Value("${notifications.max-attempts:8}") int maxAttempts,
+                                     @Value("${notifications.initial-backoff-ms:30000}") long initialBackoffMs,
+                                     @Value("${notifications.max-backoff-ms:3600000}") long maxBackoffMs,
+                                     @Value("${notifications.claim-timeout-ms:300000}") long claimTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+        if (sender instanceof LoggingNotificationSender) {
+            logger.warn("No NotificationSender configured: notifications are only written to the log and marked SENT. "
+                    + "Declare a @Primary NotificationSender bean to deliver them.");
+        }
+    }
+
+    /**
+     * Queue a notification as part of the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String type, String recipient, String subject, String body) {
+        if (recipient == null || recipient.isBlank()) {
+            logger.warn("Dropping {} notification without a recipient: {}", type, subject);
+            return;
+        }
+        outboxRepository.save(new OutboxNotification(type, recipient, subject, body));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.dispatch-interval-ms:2000}",
+               initialDelayString = "${notifications.dispatch-interval-ms:2000}")
+    public void dispatchScheduled() {
+        try {
+            int handled = dispatchDue();
+            if (handled > 0) {
+                logger.debug("Dispatched {} notifications", handled);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Notification dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver every due notification, one batch at a time. Returns the number of rows handled.
+     */
+    public int dispatchDue() {
+        int handled = 0;
+        while (true) {
+            List<OutboxNotification> batch = claimBatch();
+            for (OutboxNotification notification : batch) {
+                deliver(notification);
+            }
+            handled += batch.size();
+            if (batch.size() < batchSize) {
+                return handled;
+            }
+        }
+    }
+
+    private List<OutboxNotification> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxNotification> due = outboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+            LocalDateTime claimedUntil = now.plus(Duration.ofMillis(claimTimeoutMs));
+            due.forEach(notification -> notification.setNextAttemptAt(claimedUntil));
+            return due;
+        });
+    }
+
+    private void deliver(OutboxNotification notification) {
+        try {
+            sender.send(notification.getRecipient(), notification.getSubject(), notification.getBody());
+        } catch (Exception e) {
+            recordFailure(notification, e);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                outboxRepository.markSent(notification.getId(), LocalDateTime.now()));
+        meterRegistry.counter("notifications.dispatched", "type", notification.getType(), "result", "sent").increment();
+    }
+
+    private void recordFailure(OutboxNotification notification, Exception error) {
+        int attempts = notification.getAttempts() + 1;
+        boolean givingUp = attempts >= maxAttempts;
+        OutboxNotification.Status status = givingUp ? OutboxNotification.Status.FAILED : OutboxNotification.Status.PENDING;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMs(attempts)));
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        String lastError = message;
+        transactionTemplate.executeWithoutResult(tx -> outboxRepository.markFailedAttempt(
+                notification.getId(), status, attempts, nextAttemptAt, lastError));
+
+        meterRegistry.counter("notifications.dispatched", "type", notification.getType(),
+                "result", givingUp ? "failed" : "retry").increment();
+        if (givingUp) {
+            logger.error("Giving up on notification {} to {} after {} attempts: {}",
+                    notification.getId(), notification.getRecipient(), attempts, lastError);
+        } else {
+            logger.warn("Notification {} to {} failed (attempt {}), retrying at {}: {}",
+                    notification.getId(), notification.getRecipient(), attempts, nextAttemptAt, lastError);
+        }
+    }
+
+    // initial * 2^(attempts - 1), capped, with +/-20% jitter so failed rows do not retry in lockstep
+    private long backoffMs(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 30);
+        if (delay <= 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return (long) (delay * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+}
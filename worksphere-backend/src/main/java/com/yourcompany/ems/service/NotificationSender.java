@@ -0,0 +1,12 @@
+package com.yourcompany.ems.service;
+
+/**
+ * Delivers one notification, e.g. as an email. Throw to have the dispatcher retry it later.
+ *
+ * The default sender only logs (see NotificationConfig); declare another NotificationSender
+ * bean marked @Primary to deliver for real.
+ */
+public interface NotificationSender {
+
+    void send(String recipient, String subject, String body) throws Exception;
+}
@@ -0,0 +1,440 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory index of the reporting lines (employee -> manager).
+ *
+ * The tree is stored in primitive arrays. Employee ids are sorted, so an id's array index is found
+ * by binary search. Each node has its parent, its depth and its Euler-tour interval [enter, exit).
+ * A node's subtree is exactly the nodes whose enter time falls inside its interval, so "does X
+ * report to Y" is two comparisons. The subtree is a contiguous slice of the tour, so listing it
+ * never walks the tree level by level.
+ *
+ * The index is built from the database once, at startup. After that, writes only patch the
+ * in-memory links (employee -> manager) and mark the snapshot stale. The arrays are rebuilt from
+ * the links on the next read, so a burst of writes such as an import costs one rebuild, not one
+ * per employee. Readers always see a complete, immutable snapshot.
+ */
+@Service
+public class OrgChartIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrgChartIndexService.class);
+
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
+    private final EmployeeRepository employeeRepository;
+
+    // employee id -> manager id (null for the top of a tree); guarded by this
+    private final Map<Long, Long> managerLinks = new HashMap<>();
+    private volatile Tree tree = Tree.build(new HashMap<>());
+    // Set when the links changed after the snapshot was built; written under this
+    private volatile boolean stale;
+
+    @Autowired
+    public OrgChartIndexService(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Reload every reporting line from the database.
+     */
+    public synchronized void refresh() {
+        long start = System.nanoTime();
+        managerLinks.clear();
+        for (Object[] link : employeeRepository.findAllManagerLinks()) {
+            managerLinks.put((Long) link[0], (Long) link[1]);
+        }
+        tree = Tree.build(managerLinks);
+        stale = false;
+        logger.info("Org chart index built: {} employees in {} ms", managerLinks.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Record a new or changed reporting line after it has been saved.
+     */
+    public synchronized void setManager(Long employeeId, Long managerId) {
+        if (managerLinks.containsKey(employeeId) && Objects.equals(managerLinks.get(employeeId), managerId)) {
+            return;
+        }
+        managerLinks.put(employeeId, managerId);
+        stale = true;
+    }
+
+    /**
+     * Record many reporting lines at once, e.g. one import batch (employee id -> manager id).
+     */
+    public synchronized void setManagers(Map<Long, Long> links) {
+        managerLinks.putAll(links);
+        stale = stale || !links.isEmpty();
+    }
+
+    /**
+     * Drop a deleted employee together with everyone below them, who are deleted with their
+     * manager (cascade). Returns the ids removed, the employee first.
+     */
+    public synchronized long[] remove(Long employeeId) {
+        Tree current = current();
+        int node = current.indexOf(employeeId);
+        if (node < 0) {
+            return new long[0];
+        }
+        long[] removed = new long[current.exit[node] - current.enter[node]];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = current.ids[current.order[current.enter[node] + i]];
+            managerLinks.remove(removed[i]);
+        }
+        stale = true;
+        return removed;
+    }
+
+    // The current snapshot, rebuilt first if the links changed since it was built
+    private Tree current() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    tree = Tree.build(managerLinks);
+                    stale = false;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * True if making managerId the manager of employeeId would close a loop in the chart.
+     */
+    public boolean wouldCreateCycle(Long employeeId, Long managerId) {
+        if (managerId == null) {
+            return false;
+        }
+        if (managerId.equals(employeeId)) {
+            return true;
+        }
+        Tree current = current();
+        int employee = current.indexOf(employeeId);
+        int manager = current.indexOf(managerId);
+        return employee >= 0 && manager >= 0 && current.isAncestor(employee, manager);
+    }
+
+    /**
+     * True if the employee is anywhere below the manager.
+     */
+    public boolean reportsTo(Long employeeId, Long managerId) {
+        Tree current = current();
+        int employee = current.require(employeeId);
+        int manager = current.require(managerId);
+        return employee != manager && current.isAncestor(manager, employee);
+    }
+
+    /**
+     * Ids of the manager's direct reports, or of everyone below the manager. Unknown ids have none.
+     */
+    public long[] getReportIds(Long managerId, boolean directOnly) {
+        Tree current = current();
+        int manager = current.indexOf(managerId);
+        if (manager < 0) {
+            return new long[0];
+        }
+        if (directOnly) {
+            long[] ids = new long[current.childCount(manager)];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = current.ids[current.children[current.firstChild[manager] + i]];
+            }
+            return ids;
+        }
+        long[] ids = new long[current.exit[manager] - current.enter[manager] - 1];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = current.ids[current.order[current.enter[manager] + 1 + i]];
+        }
+        return ids;
+    }
+
+    /**
+     * Everyone below the employee, in tree order (each manager before their reports).
+     * maxDepth limits the levels returned (1 = direct reports); null returns all.
+     */
+    public Map<String, Object> getSubtree(Long employeeId, Integer maxDepth) {
+        Tree current = current();
+        int root = current.require(employeeId);
+        int rootDepth = current.depth[root];
+        List<Long> ids = new ArrayList<>();
+        Map<Long, int[]> placement = new HashMap<>();
+        for (int position = current.enter[root] + 1; position < current.exit[root]; position++) {
+            int node = current.order[position];
+            int level = current.depth[node] - rootDepth;
+            if (maxDepth != null && level > maxDepth) {
+                continue;
+            }
+            ids.add(current.ids[node]);
+            placement.put(current.ids[node], new int[]{level, current.parent[node]});
+        }
+
+        Map<Long, Map<String, Object>> details = describe(ids);
+        List<Map<String, Object>> employees = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Map<String, Object> entry = details.getOrDefault(id, new LinkedHashMap<>(Map.of("id", id)));
+            int[] place = placement.get(id);
+            entry.put("managerId", current.ids[place[1]]);
+            entry.put("level", place[0]);
+            employees.add(entry);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("employeeId", employeeId);
+        response.put("totalReports", current.exit[root] - current.enter[root] - 1);
+        response.put("returned", employees.size());
+        response.put("employees", employees);
+        return response;
+    }
+
+    /**
+     * The employee's managers, from the direct manager up to the top of the chart.
+     */
+    public List<Map<String, Object>> getChainOfCommand(Long employeeId) {
+        Tree current = current();
+        List<Long> ids = new ArrayList<>();
+        for (int node = current.parent[current.require(employeeId)]; node >= 0; node = current.parent[node]) {
+            ids.add(current.ids[node]);
+        }
+        Map<Long, Map<String, Object>> details = describe(ids);
+        List<Map<String, Object>> chain = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Map<String, Object> entry = details.getOrDefault(ids.get(i), new LinkedHashMap<>(Map.of("id", ids.get(i))));
+            entry.put("level", i + 1);
+            chain.add(entry);
+        }
+        return chain;
+    }
+
+    /**
+     * Span-of-control figures for the employee's part of the chart.
+     */
+    public Map<String, Object> getSpanOfControl(Long employeeId) {
+        Tree current = current();
+        int root = current.require(employeeId);
+        int rootDepth = current.depth[root];
+        List<Integer> headcountByLevel = new ArrayList<>();
+        int managers = 0;
+        int managedReports = 0;
+        int widestSpan = 0;
+        Long widestManager = null;
+        for (int position = current.enter[root]; position < current.exit[root]; position++) {
+            int node = current.order[position];
+            int level = current.depth[node] - rootDepth;
+            if (level > 0) {
+                while (headcountByLevel.size() < level) {
+                    headcountByLevel.add(0);
+                }
+                headcountByLevel.set(level - 1, headcountByLevel.get(level - 1) + 1);
+            }
+            int span = current.childCount(node);
+            if (span > 0) {
+                managers++;
+                managedReports += span;
+                if (span > widestSpan) {
+                    widestSpan = span;
+                    widestManager = current.ids[node];
+                }
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("employeeId", employeeId);
+        stats.put("directReports", current.childCount(root));
+        stats.put("totalReports", current.exit[root] - current.enter[root] - 1);
+        stats.put("levelsBelow", headcountByLevel.size());
+        stats.put("headcountByLevel", headcountByLevel);
+        stats.put("managers", managers);
+        stats.put("averageSpan", managers == 0 ? 0.0 : Math.round(managedReports * 100.0 / managers) / 100.0);
+        stats.put("widestSpan", widestSpan);
+        stats.put("widestSpanManagerId", widestManager);
+        return stats;
+    }
+
+    private Map<Long, Map<String, Object>> describe(List<Long> ids) {
+        Map<Long, Map<String, Object>> details = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, ids.size()));
+            for (Object[] row : employeeRepository.findOrgChartRowsByIdIn(batch)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("id", row[0]);
+                entry.put("employeeId", row[1]);
+                entry.put("name", row[2] + " " + row[3]);
+                entry.put("departmentName", row[4]);
+                details.put((Long) row[0], entry);
+            }
+        }
+        return details;
+    }
+
+    /**
+     * One immutable snapshot of the chart. Nodes are array indexes into the sorted ids.
+     */
+    private static final class Tree {
+        private final long[] ids;
+        private final int[] parent;
+        private final int[] depth;
+        private final int[] enter;
+        private final int[] exit;
+        private final int[] order;
+        private final int[] firstChild;
+        private final int[] children;
+
+        private Tree(long[] ids, int[] parent, int[] depth, int[] enter, int[] exit, int[] order,
+                     int[] firstChild, int[] children) {
+            this.ids = ids;
+            this.parent = parent;
+            this.depth = depth;
+            this.enter = enter;
+            this.exit = exit;
+            this.order = order;
+            this.firstChild = firstChild;
+            this.children = children;
+        }
+
+        static Tree build(Map<Long, Long> managerLinks) {
+            int size = managerLinks.size();
+            long[] ids = new long[size];
+            int n = 0;
+            for (Long id : managerLinks.keySet()) {
+                ids[n++] = id;
+            }
+            Arrays.sort(ids);
+
+            int[] parent = new int[size];
+            for (int node = 0; node < size; node++) {
+                Long managerId = managerLinks.get(ids[node]);
+                parent[node] = managerId != null ? Arrays.binarySearch(ids, managerId) : -1;
+                if (parent[node] < 0) {
+                    parent[node] = -1; // no manager, or a manager this index does not know
+                }
+            }
+
+            int[] firstChild = firstChild(parent);
+            int[] children = children(parent, firstChild);
+
+            int[] depth = new int[size];
+            int[] enter = new int[size];
+            int[] exit = new int[size];
+            int[] order = new int[size];
+            boolean[] visited = new boolean[size];
+            int[] stack = new int[size];
+            int[] nextChild = new int[size];
+            int time = 0;
+            int broken = 0;
+            // Roots first; then any node left over sits on a loop of bad data and is cut loose as a root
+            for (int pass = 0; pass < 2; pass++) {
+                for (int start = 0; start < size; start++) {
+                    if (visited[start] || (pass == 0 && parent[start] >= 0)) {
+                        continue;
+                    }
+                    if (pass == 1) {
+                        parent[start] = -1;
+                        broken++;
+                    }
+                    int top = 0;
+                    stack[top++] = start;
+                    visited[start] = true;
+                    depth[start] = 0;
+                    enter[start] = time;
+                    order[time++] = start;
+                    nextChild[start] = firstChild[start];
+                    while (top > 0) {
+                        int node = stack[top - 1];
+                        if (nextChild[node] < firstChild[node + 1]) {
+                            int child = children[nextChild[node]++];
+                            if (visited[child]) {
+                                continue; // back to the start of a loop
+                            }
+                            visited[child] = true;
+                            depth[child] = depth[node] + 1;
+                            enter[child] = time;
+                            order[time++] = child;
+                            nextChild[child] = firstChild[child];
+                            stack[top++] = child;
+                        } else {
+                            exit[node] = time;
+                            top--;
+                        }
+                    }
+                }
+            }
+            if (broken > 0) {
+                logger.warn("Org chart has {} reporting loops; they were cut at an arbitrary employee", broken);
+                // The cut employees are roots now, so drop them from their former manager's children
+                firstChild = firstChild(parent);
+                children = children(parent, firstChild);
+            }
+            return new Tree(ids, parent, depth, enter, exit, order, firstChild, children);
+        }
+
+        // Children as one array of ranges (CSR): children of node are children[firstChild[node]..firstChild[node + 1])
+        private static int[] firstChild(int[] parent) {
+            int size = parent.length;
+            int[] firstChild = new int[size + 1];
+            for (int node = 0; node < size; node++) {
+                if (parent[node] >= 0) {
+                    firstChild[parent[node] + 1]++;
+                }
+            }
+            for (int node = 0; node < size; node++) {
+                firstChild[node + 1] += firstChild[node];
+            }
+            return firstChild;
+        }
+
+        private static int[] children(int[] parent, int[] firstChild) {
+            int size = parent.length;
+            int[] children = new int[firstChild[size]];
+            int[] fill = Arrays.copyOf(firstChild, size);
+            for (int node = 0; node < size; node++) {
+                if (parent[node] >= 0) {
+                    children[fill[parent[node]]++] = node;
+                }
+            }
+            return children;
+        }
+
+        int indexOf(Long employeeId) {
+            int index = Arrays.binarySearch(ids, employeeId);
+            return index >= 0 ? index : -1;
+        }
+
+        int require(Long employeeId) {
+            int index = indexOf(employeeId);
+            if (index < 0) {
+                throw new RuntimeException("Employee not found with id: " + employeeId);
+            }
+            return index;
+        }
+
+        boolean isAncestor(int ancestor, int node) {
+            return enter[ancestor] <= enter[node] && enter[node] < exit[ancestor];
+        }
+
+        int childCount(int node) {
+            return firstChild[node + 1] - firstChild[node];
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.yourcompany.ems.service;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.UnitValue;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders employee resumes and ID cards as PDF files.
+ *
+ * Fonts are parsed once and page layouts are fixed, so a render only builds the document itself.
+ * Renders run on a dedicated pool with a bounded queue. When the queue is full the request is
+ * rejected with a {@link RejectedExecutionException} instead of piling up
+ * request threads.
+ *
+ * Each PDF is written to a disk cache named after the employee id and the profile's last update,
+ * and is served from there until the profile changes. Concurrent requests for the same file share
+ * one render. Department and manager names are not part of the key, so a rename shows up once the
+ * employee's profile next changes.
+ */
+@Service
+public class PdfRenderingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfRenderingService.class);
+
+    // Bump when a layout changes so files rendered with the old layout are no longer served
+    private static final int TEMPLATE_VERSION = 1;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+    private static final Color ACCENT = new DeviceRgb(0x1F, 0x4E, 0x79);
+    private static final Color MUTED = new DeviceRgb(0x59, 0x59, 0x59);
+    // CR80, the usual badge size (85.6 x 54 mm)
+    private static final PageSize ID_CARD_SIZE = new PageSize(242.65f, 153.07f);
+
+    public enum DocumentType {
+        RESUME("resume"),
+        ID_CARD("id-card");
+
+        private final String fileName;
+
+        DocumentType(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final MeterRegistry meterRegistry;
+    private final Path cacheDirectory;
+    private final ThreadPoolExecutor renderExecutor;
+    private final long renderTimeoutMs;
+
+    private final FontProgram regularFont;
+    private final FontProgram boldFont;
+
+    private final Map<Path, CompletableFuture<Path>> rendersInProgress = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PdfRenderingService(EmployeeRepository employeeRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${pdf.cache.dir:${java.io.tmpdir}/worksphere-pdf}") String cacheDirectory,
+                               @Value("${pdf.render.threads:0}") int threads,
+                               @Value("${pdf.render.queue-capacity:500}") int queueCapacity,
+                               @Value("${pdf.render.timeout-ms:30000}") long renderTimeoutMs) throws IOException {
+        this.employeeRepository = employeeRepository;
+        this.meterRegistry = meterRegistry;
+        this.cacheDirectory = Files.createDirectories(Paths.get(cacheDirectory));
+        this.renderTimeoutMs = renderTimeoutMs;
+        this.regularFont = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        this.boldFont = FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.renderExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-render-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        logger.info("PDF rendering: {} threads, queue of {}, cache in {}", poolSize, queueCapacity, this.cacheDirectory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdown();
+    }
+
+    /**
+     * Path of the up-to-date PDF for the employee, rendering it first if it is not cached.
+     */
+    public Path getDocument(Long employeeId, DocumentType type) {
+        Employee employee = employeeRepository.findSummaryById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+        try {
+            return requestDocument(employee, type).get(renderTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering " + type.getFileName(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw (RejectedExecutionException) e.getCause();
+            }
+            throw new RuntimeException("Failed to render " + type.getFileName() + ": " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out rendering " + type.getFileName() + " for employee " + employeeId);
+        }
+    }
+
+    /**
+     * Start rendering the employee's PDF unless it is cached or already being rendered.
+     * The employee must have its department and manager loaded (Employee.summary graph).
+     *
+     * @throws RejectedExecutionException if the render queue is full
+     */
+    public CompletableFuture<Path> requestDocument(Employee employee, DocumentType type) {
+        Path file = cacheDirectory.resolve(String.format("%s-v%d-%d-%d.pdf",
+                type.getFileName(), TEMPLATE_VERSION, employee.getId(), profileVersion(employee)));
+        if (Files.exists(file)) {
+            count(type, "hit");
+            return CompletableFuture.completedFuture(file);
+        }
+
+        count(type, "miss");
+        CompletableFuture<Path> render = new CompletableFuture<>();
+        CompletableFuture<Path> running = rendersInProgress.putIfAbsent(file, render);
+        if (running != null) {
+            return running;
+        }
+        // Copy what the layout needs on this thread, so the entity never crosses threads
+        Profile profile = new Profile(employee);
+        try {
+            renderExecutor.execute(() -> {
+                try {
+                    render.complete(render(profile, type, file));
+                } catch (RuntimeException e) {
+                    render.completeExceptionally(e);
+                } finally {
+                    rendersInProgress.remove(file, render);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rendersInProgress.remove(file, render);
+            render.completeExceptionally(e);
+            throw e;
+        }
+        return render;
+    }
+
+    /**
+     * Number of render threads, for callers that want to keep the pool busy without flooding its queue.
+     */
+    public int getRenderThreads() {
+        return renderExecutor.getCorePoolSize();
+    }
+
+    private static long profileVersion(Employee employee) {
+        LocalDateTime changed = employee.getUpdatedAt() != null ? employee.getUpdatedAt() : employee.getCreatedAt();
+        return changed != null ? changed.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private void count(DocumentType type, String result) {
+        meterRegistry.counter("pdf.documents", "document", type.getFileName(), "result", result).increment();
+    }
+
+    private Path render(Profile profile, DocumentType type, Path file) {
+        long start = System.nanoTime();
+        Path temporary = null;
+        try {
+            // Write beside the target and move into place, so a reader never sees a partial file
+            temporary = Files.createTempFile(cacheDirectory, file.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                if (type == DocumentType.RESUME) {
+                    writeResume(profile, output);
+                } else {
+                    writeIdCard(profile, output);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            removeOlderVersions(profile.id, type, file);
+            logger.debug("Rendered {} for employee {} in {} ms", type.getFileName(), profile.id,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException e) {
+                    logger.warn("Could not delete {}: {}", temporary, e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Only versions older than the one just written: a slow render of an old profile must not
+    // delete the file a newer render has already put in place
+    private void removeOlderVersions(Long employeeId, DocumentType type, Path current) throws IOException {
+        long[] currentVersion = version(type, current);
+        String pattern = String.format("%s-v*-%d-*.pdf", type.getFileName(), employeeId);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory, pattern)) {
+            for (Path file : files) {
+                long[] fileVersion = version(type, file);
+                if (fileVersion != null && Arrays.compare(fileVersion, currentVersion) < 0) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // {template version, profile version} of a cached file name, or null if it is not one
+    private static long[] version(DocumentType type, Path file) {
+        String name = file.getFileName().toString();
+        String prefix = type.getFileName() + "-v";
+        if (!name.startsWith(prefix) || !name.endsWith(".pdf")) {
+            return null;
+        }
+        String[] parts = name.substring(prefix.length(), name.length() - ".pdf".length()).split("-");
+        try {
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[parts.length - 1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void writeResume(Profile profile, OutputStream output) {
+        PdfDocument pdf = new PdfDocument(new PdfWriter(output, new WriterProperties().setFullCompressionMode(true)));
+        try (Document document = new Document(pdf, PageSize.A4)) {
+            document.setMargins(48, 48, 48, 48);
+            PdfFont regular = PdfFontFactory.createFont(regularFont, PdfEncodings.WINANSI);
+            PdfFont bold = PdfFontFactory.createFont(boldFont, PdfEncodings.WINANSI);
+            document.setFont(regular).setFontSize(10);
+
+            document.add(new Paragraph(profile.fullName).setFont(bold).setFontSize(22).setFontColor(ACCENT).setMarginBottom(0));
+            document.add(new Paragraph(joinNonEmpty(" | ", profile.email, profile.contact, profile.city)).setFontColor(MUTED));
+
+            Table details = new Table(UnitValue.createPercentArray(new float[]{1, 3})).useAllAvailableWidth();
+            addRow(details, bold, "Employee ID", profile.employeeId);
+            addRow(details, bold, "Department", profile.departmentName);
+            addRow(details, bold, "Manager", profile.managerName);
+            addRow(details, bold, "Joined", format(profile.dateOfJoining));
+            addRow(details, bold, "Experience", profile.experience != null ? profile.experience + " years" : null);
+            addRow(details, bold, "Address", profile.address);
+            document.add(details.setMarginBottom(12));
+
+            addSection(document, bold, "Skills", profile.skills);
+            addSection(document, bold, "Education", profile.education);
+            addSection(document, bold, "Certifications", profile.certifications);
+            addSection(document, bold, "Achievements", profile.achievements);
+            addSection(document, bold, "Hobbies", profile.hobbies);
+        }
+    }
+
+    private void writeIdCard(Profile profile, OutputStream output) {
+        PdfDocument pdf = new PdfDocument(new PdfWriter(output, new WriterProperties().setFullCompressionMode(true)));
+        try (Document document = new Document(pdf, ID_CARD_SIZE)) {
+            document.setMargins(12, 14, 12, 14);
+            PdfFont regular = PdfFontFactory.createFont(regularFont, PdfEncodings.WINANSI);
+            PdfFont bold = PdfFontFactory.createFont(boldFont, PdfEncodings.WINANSI);
+            document.setFont(regular).setFontSize(7);
+
+            document.add(new Paragraph("WORKSPHERE").setFont(bold).setFontSize(9).setFontColor(ACCENT).setMarginBottom(4));
+            document.add(new Paragraph(profile.fullName).setFont(bold).setFontSize(12).setMarginBottom(0));
+            document.add(new Paragraph(valueOrDash(profile.departmentName)).setFontColor(MUTED).setMarginBottom(6));
+
+            Table details = new Table(UnitValue.createPercentArray(new float[]{2, 3})).useAllAvailableWidth();
+            addRow(details, bold, "ID", profile.employeeId);
+            addRow(details, bold, "Blood group", profile.bloodGroup);
+            addRow(details, bold, "Joined", format(profile.dateOfJoining));
+            addRow(details, bold, "Contact", profile.contact);
+            document.add(details);
+        }
+    }
+
+    private static void addRow(Table table, PdfFont labelFont, String label, String value) {
+        table.addCell(new Cell().add(new Paragraph(label).setFont(labelFont)).setBorder(Border.NO_BORDER).setPadding(1));
+        table.addCell(new Cell().add(new Paragraph(valueOrDash(value))).setBorder(Border.NO_BORDER).setPadding(1));
+    }
+
+    private static void addSection(Document document, PdfFont headingFont, String heading, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        document.add(new Paragraph(heading).setFont(headingFont).setFontSize(12).setFontColor(ACCENT).setMarginBottom(2));
+        document.add(new Paragraph(text).setMarginTop(0));
+    }
+
+    private static String format(LocalDate date) {
+        return date != null ? date.format(DATE_FORMAT) : null;
+    }
+
+    private static String valueOrDash(String value) {
+        return value == null || value.isBlank() ? "-" : value;
+    }
+
+    private static String joinNonEmpty(String separator, String... values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                if (joined.length() > 0) {
+                    joined.append(separator);
+                }
+                joined.append(value);
+            }
+        }
+        return joined.toString();
+    }
+
+    /**
+     * The fields a layout reads, copied from the entity before handing off to the render pool.
+     */
+    private static final class Profile {
+        private final Long id;
+        private final String employeeId;
+        private final String fullName;
+        private final String email;
+        private final String contact;
+        private final String address;
+        private final String city;
+        private final String bloodGroup;
+        private final String skills;
+        private final Integer experience;
+        private final String education;
+        private final String certifications;
+        private final String achievements;
+        private final String hobbies;
+        private final LocalDate dateOfJoining;
+        private final String departmentName;
+        private final String managerName;
+
+        private Profile(Employee employee) {
+            this.id = employee.getId();
+            this.employeeId = employee.getEmployeeId();
+            this.fullName = employee.getFullName();
+            this.email = employee.getEmail();
+            this.contact = employee.getContact();
+            this.address = employee.getAddress();
+            this.city = employee.getCity();
+            this.bloodGroup = employee.getBloodGroup();
+            this.skills = employee.getSkills();
+            this.experience = employee.getExperience();
+            this.education = employee.getEducation();
+            this.certifications = employee.getCertifications();
+            this.achievements = employee.getAchievements();
+            this.hobbies = employee.getHobbies();
+            this.dateOfJoining = employee.getDateOfJoining();
+            this.departmentName = employee.getDepartment() != null ? employee.getDepartment().getName() : null;
+            this.managerName = employee.getManager() != null ? employee.getManager().getFullName() : null;
+        }
+    }
+}
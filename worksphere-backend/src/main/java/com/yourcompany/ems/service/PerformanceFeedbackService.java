@@ -3,9 +3,9 @@ package com.yourcompany.ems.service;
 import com.yourcompany.ems.dto.PerformanceFeedbackDto;
 import com.yourcompany.ems.entity.Employee;
 import com.yourcompany.ems.entity.PerformanceFeedback;
+import com.yourcompany.ems.mapper.PerformanceFeedbackMapper;
 import com.yourcompany.ems.repository.EmployeeRepository;
 import com.yourcompany.ems.repository.PerformanceFeedbackRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -22,7 +22,7 @@ public class PerformanceFeedbackService {
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private PerformanceFeedbackMapper feedbackMapper;
 
     public PerformanceFeedbackDto createFeedback(PerformanceFeedbackDto feedbackDto) {
         Employee manager = employeeRepository.findById(feedbackDto.getManagerId())
@@ -31,7 +31,7 @@ public class PerformanceFeedbackService {
         Employee employee = employeeRepository.findById(feedbackDto.getEmployeeId())
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        PerformanceFeedback feedback = modelMapper.map(feedbackDto, PerformanceFeedback.class);
+        PerformanceFeedback feedback = feedbackMapper.toEntity(feedbackDto);
         feedback.setManager(manager);
         feedback.setEmployee(employee);
 
@@ -80,18 +80,6 @@ public class PerformanceFeedbackService {
     }
 
     private PerformanceFeedbackDto convertToDto(PerformanceFeedback feedback) {
-        PerformanceFeedbackDto dto = modelMapper.map(feedback, PerformanceFeedbackDto.class);
-        
-        if (feedback.getManager() != null) {
-            dto.setManagerId(feedback.getManager().getId());
-            dto.setManagerName(feedback.getManager().getFullName());
-        }
-
-        if (feedback.getEmployee() != null) {
-            dto.setEmployeeId(feedback.getEmployee().getId());
-            dto.setEmployeeName(feedback.getEmployee().getFullName());
-        }
-
-        return dto;
+        return feedbackMapper.toDto(feedback);
     }
 } 
\ No newline at end of file
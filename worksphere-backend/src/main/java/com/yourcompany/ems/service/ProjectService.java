@@ -1,33 +1,59 @@
 package com.yourcompany.ems.service;
 
-import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.CursorPage;
 import com.yourcompany.ems.dto.ProjectDto;
 import com.yourcompany.ems.entity.Employee;
 import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.mapper.ProjectMapper;
 import com.yourcompany.ems.repository.EmployeeRepository;
 import com.yourcompany.ems.repository.ProjectRepository;
-import org.modelmapper.ModelMapper;
+import com.yourcompany.ems.util.CursorUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
+
     private final ProjectRepository projectRepository;
     private final EmployeeRepository employeeRepository;
-    private final ModelMapper modelMapper;
+    private final ProjectMapper projectMapper;
+    private final DashboardCounterService dashboardCounterService;
+    private final IdAllocatorService idAllocatorService;
+    private final TeamMemberService teamMemberService;
     
     @Autowired
     public ProjectService(ProjectRepository projectRepository,
                          EmployeeRepository employeeRepository,
-                         ModelMapper modelMapper) {
+                         ProjectMapper projectMapper,
+                         DashboardCounterService dashboardCounterService,
+                         IdAllocatorService idAllocatorService,
+                         TeamMemberService teamMemberService) {
         this.projectRepository = projectRepository;
         this.employeeRepository = employeeRepository;
-        this.modelMapper = modelMapper;
+        this.projectMapper = projectMapper;
+        this.dashboardCounterService = dashboardCounterService;
+        this.idAllocatorService = idAllocatorService;
+        this.teamMemberService = teamMemberService;
     }
 
     public List<ProjectDto> getAllProjects() {
@@ -36,6 +62,30 @@ public class ProjectService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one slice of projects using keyset pagination on id.
+     * The total count is only computed when includeTotal is set.
+     */
+    public CursorPage<ProjectDto> getProjectsPage(String cursor, int size, String sort, boolean includeTotal) {
+        Sort.Direction direction = CursorUtil.parseDirection(sort);
+        Long key = CursorUtil.resolveKey(cursor, direction);
+        Pageable pageable = CursorUtil.pageable(size, direction);
+
+        Slice<Project> slice = direction.isAscending()
+                ? projectRepository.findByIdGreaterThan(key, pageable)
+                : projectRepository.findByIdLessThan(key, pageable);
+
+        List<ProjectDto> items = slice.getContent().stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        String nextCursor = slice.hasNext() && !items.isEmpty()
+                ? CursorUtil.encode(items.get(items.size() - 1).getId())
+                : null;
+        Long totalCount = includeTotal ? projectRepository.count() : null;
+
+        return new CursorPage<>(items, nextCursor, slice.hasNext(), items.size(), totalCount);
+    }
+
     public ProjectDto getProjectById(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
@@ -48,7 +98,7 @@ public class ProjectService {
         // Set basic properties
         project.setName(projectDto.getName());
         project.setDescription(projectDto.getDescription());
-        project.setProjectCode(projectDto.getProjectCode() != null ? projectDto.getProjectCode() : generateProjectCode());
+        project.setProjectCode(projectDto.getProjectCode() != null ? projectDto.getProjectCode() : idAllocatorService.nextProjectCode());
         project.setStatus(Project.ProjectStatus.valueOf(projectDto.getStatus()));
         project.setStartDate(projectDto.getStartDate());
         project.setEndDate(projectDto.getEndDate());
@@ -61,35 +111,36 @@ public class ProjectService {
                 project.setManager(manager);
             } catch (Exception e) {
                 // Log the error but don't fail the project creation
-                System.err.println("Warning: Could not set manager: " + e.getMessage());
+                logger.warn("Could not set manager: {}", e.getMessage());
             }
         }
 
-        // Set employees if provided - make this optional
+        // Set employees if provided - make this optional, unknown ids are skipped
         if (projectDto.getEmployees() != null && !projectDto.getEmployees().isEmpty()) {
-            List<Employee> employees = new ArrayList<>();
-            for (com.yourcompany.ems.dto.EmployeeDto empDto : projectDto.getEmployees()) {
-                if (empDto.getId() != null) {
-                    try {
-                        Employee employee = employeeRepository.findById(empDto.getId())
-                                .orElseThrow(() -> new RuntimeException("Employee not found with ID: " + empDto.getId()));
-                        employees.add(employee);
-                    } catch (Exception e) {
-                        // Log the error but don't fail the project creation
-                        System.err.println("Warning: Could not add employee with ID " + empDto.getId() + ": " + e.getMessage());
-                    }
-                }
+            Set<Long> employeeIds = projectDto.getEmployees().stream()
+                    .map(com.yourcompany.ems.dto.EmployeeDto::getId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            List<Employee> employees = employeeRepository.findAllById(employeeIds);
+            if (employees.size() < employeeIds.size()) {
+                logger.warn("Could not add {} of {} employees to the new project: not found",
+                        employeeIds.size() - employees.size(), employeeIds.size());
             }
-            project.setEmployees(employees);
+            project.setEmployees(new ArrayList<>(employees));
         }
 
         project = projectRepository.save(project);
+        if (!project.getEmployees().isEmpty()) {
+            teamMemberService.evictProject(project.getId(), null);
+        }
+        dashboardCounterService.projectStatusChanged(null, project.getStatus().name());
         return convertToDto(project);
     }
 
     public ProjectDto updateProject(Long id, ProjectDto projectDto) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
+        Project.ProjectStatus oldStatus = project.getStatus();
 
         project.setName(projectDto.getName());
         project.setDescription(projectDto.getDescription());
@@ -104,11 +155,16 @@ public class ProjectService {
         }
 
         project = projectRepository.save(project);
+        dashboardCounterService.projectStatusChanged(oldStatus.name(), project.getStatus().name());
         return convertToDto(project);
     }
 
     public void deleteProject(Long id) {
+        Optional<Project> project = projectRepository.findById(id);
+        // Read the members before the rows are gone
+        teamMemberService.evictProject(id, null);
         projectRepository.deleteById(id);
+        project.ifPresent(p -> dashboardCounterService.projectStatusChanged(p.getStatus().name(), null));
     }
 
     public List<ProjectDto> getProjectsByManager(Long managerId) {
@@ -123,66 +179,73 @@ public class ProjectService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public ProjectDto assignEmployeeToProject(Long projectId, Long employeeId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
-        
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+        requireProject(projectId);
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
 
-        project.getEmployees().add(employee);
-        project = projectRepository.save(project);
-        return convertToDto(project);
+        if (projectRepository.addMembers(projectId, List.of(employeeId)) > 0) {
+            teamMemberService.evictProject(projectId, null);
+        }
+        return getProjectById(projectId);
     }
 
+    @Transactional
     public ProjectDto removeEmployeeFromProject(Long projectId, Long employeeId) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
-        
-        project.getEmployees().removeIf(emp -> emp.getId().equals(employeeId));
-        project = projectRepository.save(project);
-        return convertToDto(project);
+        requireProject(projectId);
+
+        if (projectRepository.removeMembers(projectId, List.of(employeeId)) > 0) {
+            teamMemberService.evictProject(projectId, List.of(employeeId));
+        }
+        return getProjectById(projectId);
     }
 
-    private ProjectDto convertToDto(Project project) {
-        ProjectDto dto = modelMapper.map(project, ProjectDto.class);
-        
-        if (project.getManager() != null) {
-            dto.setManagerId(project.getManager().getId());
-            dto.setManagerName(project.getManager().getFullName());
+    /**
+     * Assign and unassign many employees in one transaction. Only the join-table rows that change
+     * are written. Unknown employee ids reject the whole request; assigning an existing member or
+     * unassigning a non-member is a no-op.
+     */
+    @Transactional
+    public Map<String, Object> updateProjectMembers(Long projectId, Collection<Long> assign, Collection<Long> unassign) {
+        requireProject(projectId);
+        Set<Long> toAssign = assign != null ? new LinkedHashSet<>(assign) : new LinkedHashSet<>();
+        Set<Long> toUnassign = unassign != null ? new LinkedHashSet<>(unassign) : new LinkedHashSet<>();
+        toAssign.remove(null);
+        toUnassign.remove(null);
+        if (!Collections.disjoint(toAssign, toUnassign)) {
+            throw new RuntimeException("The same employee cannot be both assigned and unassigned");
         }
 
-        if (project.getEmployees() != null) {
-            dto.setEmployees(project.getEmployees().stream()
-                    .map(emp -> {
-                        EmployeeDto employeeDto = new EmployeeDto();
-                        employeeDto.setId(emp.getId());
-                        employeeDto.setFirstName(emp.getFirstName());
-                        employeeDto.setLastName(emp.getLastName());
-                        employeeDto.setEmail(emp.getEmail());
-                        employeeDto.setEmployeeId(emp.getEmployeeId());
-                        employeeDto.setFullName(emp.getFullName());
-                        
-                        if (emp.getManager() != null) {
-                            employeeDto.setManagerId(emp.getManager().getId());
-                            employeeDto.setManagerName(emp.getManager().getFullName());
-                        }
-                        
-                        if (emp.getDepartment() != null) {
-                            employeeDto.setDepartmentId(emp.getDepartment().getId());
-                            employeeDto.setDepartmentName(emp.getDepartment().getName());
-                        }
-                        
-                        return employeeDto;
-                    })
-                    .collect(Collectors.toList()));
+        if (!toAssign.isEmpty()) {
+            Set<Long> missing = new LinkedHashSet<>(toAssign);
+            missing.removeAll(employeeRepository.findExistingIds(toAssign));
+            if (!missing.isEmpty()) {
+                throw new RuntimeException("Employees not found: " + missing);
+            }
+        }
+
+        int assigned = toAssign.isEmpty() ? 0 : projectRepository.addMembers(projectId, toAssign);
+        int unassigned = toUnassign.isEmpty() ? 0 : projectRepository.removeMembers(projectId, toUnassign);
+        if (assigned + unassigned > 0) {
+            teamMemberService.evictProject(projectId, toUnassign);
         }
 
-        return dto;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("projectId", projectId);
+        result.put("assigned", assigned);
+        result.put("unassigned", unassigned);
+        return result;
     }
 
-    private String generateProjectCode() {
-        // Simple project code generation - you can make this more sophisticated
-        return "PRJ" + System.currentTimeMillis();
+    private void requireProject(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Project not found");
+        }
+    }
+
+    private ProjectDto convertToDto(Project project) {
+        return projectMapper.toDto(project);
     }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.repository.DepartmentRepository;
+import com.yourcompany.ems.repository.RoleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of the reference tables: roles and departments. Both almost never change,
+ * so lookups by role type, department id, code or name are answered from immutable maps
+ * loaded at startup. Department writes call {@link #refreshDepartments()}; a lookup that
+ * misses falls back to the database and reloads the maps.
+ *
+ * The returned entities are detached and shared: use them as association targets or for
+ * their basic fields, do not modify them or navigate their lazy collections.
+ * Lookups are counted in the "reference.data.lookups" metric, tagged by cache and result.
+ */
+@Service
+public class ReferenceDataRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private final RoleRepository roleRepository;
+    private final DepartmentRepository departmentRepository;
+
+    private final Counter roleHits;
+    private final Counter roleMisses;
+    private final Counter departmentHits;
+    private final Counter departmentMisses;
+
+    private volatile Map<Role.RoleType, Role> roles;
+    private volatile Departments departments;
+
+    @Autowired
+    public ReferenceDataRegistry(RoleRepository roleRepository,
+                                 DepartmentRepository departmentRepository,
+                                 MeterRegistry meterRegistry) {
+        this.roleRepository = roleRepository;
+        this.departmentRepository = departmentRepository;
+        this.roleHits = lookupCounter(meterRegistry, "roles", "hit");
+        this.roleMisses = lookupCounter(meterRegistry, "roles", "miss");
+        this.departmentHits = lookupCounter(meterRegistry, "departments", "hit");
+        this.departmentMisses = lookupCounter(meterRegistry, "departments", "miss");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refreshRoles();
+        refreshDepartments();
+    }
+
+    public Optional<Role> findRole(Role.RoleType type) {
+        Map<Role.RoleType, Role> current = roles;
+        Role role = current != null ? current.get(type) : null;
+        if (role != null) {
+            roleHits.increment();
+            return Optional.of(role);
+        }
+        roleMisses.increment();
+        refreshRoles();
+        return Optional.ofNullable(roles.get(type));
+    }
+
+    /**
+     * Department by id. An unknown id reloads the departments once before giving up,
+     * in case it was created by another instance.
+     */
+    public Optional<Department> findDepartmentById(Long id) {
+        return findDepartment(id, departments -> departments.byId, true);
+    }
+
+    /**
+     * Department by code, used for uniqueness checks. A miss is the normal answer here,
+     * so it does not reload; the unique constraint on the column still guards the write.
+     */
+    public Optional<Department> findDepartmentByCode(String code) {
+        return findDepartment(code, departments -> departments.byCode, false);
+    }
+
+    public Optional<Department> findDepartmentByName(String name) {
+        return findDepartment(name, departments -> departments.byName, false);
+    }
+
+    public synchronized void refreshRoles() {
+        Map<Role.RoleType, Role> loaded = new EnumMap<>(Role.RoleType.class);
+        roleRepository.findAll().forEach(role -> loaded.put(role.getName(), role));
+        roles = Collections.unmodifiableMap(loaded);
+    }
+
+    /**
+     * Reload all departments. Called after a department is created, updated or deleted.
+     */
+    public synchronized void refreshDepartments() {
+        departments = new Departments(departmentRepository.findAll());
+        logger.debug("Loaded {} departments into the reference data registry", departments.byId.size());
+    }
+
+    private <K> Optional<Department> findDepartment(K key, Function<Departments, Map<K, Department>> index,
+                                                    boolean reloadOnMiss) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        Departments current = departments;
+        if (current == null) {
+            refreshDepartments();
+            current = departments;
+        }
+        Department department = index.apply(current).get(key);
+        if (department != null) {
+            departmentHits.increment();
+            return Optional.of(department);
+        }
+        departmentMisses.increment();
+        if (!reloadOnMiss) {
+            return Optional.empty();
+        }
+        refreshDepartments();
+        return Optional.ofNullable(index.apply(departments).get(key));
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("reference.data.lookups")
+                .description("Reference data registry lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Departments {
+        private final Map<Long, Department> byId;
+        private final Map<String, Department> byCode;
+        private final Map<String, Department> byName;
+
+        private Departments(List<Department> departments) {
+            Map<Long, Department> ids = new HashMap<>();
+            Map<String, Department> codes = new HashMap<>();
+            Map<String, Department> names = new HashMap<>();
+            for (Department department : departments) {
+                ids.put(department.getId(), department);
+                codes.put(department.getCode(), department);
+                names.put(department.getName(), department);
+            }
+            this.byId = Map.copyOf(ids);
+            this.byCode = Map.copyOf(codes);
+            this.byName = Map.copyOf(names);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the employees' skills, certifications and education.
+ *
+ * The text is split into lower-case terms. Each employee gets a dense document number, and each
+ * term keeps a bitmap of the documents containing it plus parallel int arrays of document numbers
+ * and weights. An ALL query intersects bitmaps and an ANY query unions them. Matches are ranked by
+ * weight (skills 3, certifications 2, education 1 per occurrence) times the term's inverse
+ * document frequency. No query touches the database.
+ *
+ * The index is built when the application starts. EmployeeService and EmployeeImportService
+ * update it whenever an employee is written, so it follows the table without rebuilds.
+ */
+@Service
+public class SkillIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillIndexService.class);
+
+    private static final int SKILLS_WEIGHT = 3;
+    private static final int CERTIFICATIONS_WEIGHT = 2;
+    private static final int EDUCATION_WEIGHT = 1;
+
+    // Keeps c++, c#, node.js and .net whole
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}+#.]+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "at", "for", "in", "of", "on", "or",
+            "s", "the", "to", "with");
+
+    public enum Mode {
+        ALL, ANY;
+
+        public static Mode from(String value) {
+            try {
+                return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new RuntimeException("Invalid search mode: " + value + ". Valid modes are: all, any");
+            }
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> documentNumbers = new HashMap<>();
+    private final List<IndexedEmployee> documents = new ArrayList<>();
+    private final Deque<Integer> freeDocumentNumbers = new ArrayDeque<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    @Autowired
+    public SkillIndexService(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        List<Object[]> rows = employeeRepository.findAllForSkillIndex();
+        lock.writeLock().lock();
+        try {
+            documentNumbers.clear();
+            documents.clear();
+            freeDocumentNumbers.clear();
+            postings.clear();
+            rows.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Skill index built: {} employees, {} terms in {} ms", rows.size(), postings.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Add or replace an employee after it has been saved.
+     */
+    public void index(Employee employee) {
+        Object[] row = {employee.getId(), employee.getEmployeeId(), employee.getFirstName(), employee.getLastName(),
+                employee.getSkills(), employee.getCertifications(), employee.getEducation()};
+        lock.writeLock().lock();
+        try {
+            put(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-read the given employees from the database, e.g. after they were written with JDBC.
+     */
+    public void reindex(Collection<Long> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = employeeRepository.findForSkillIndexByIdIn(employeeIds);
+        lock.writeLock().lock();
+        try {
+            rows.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            Integer document = documentNumbers.remove(employeeId);
+            if (document != null) {
+                removePostings(document);
+                documents.set(document, null);
+                freeDocumentNumbers.push(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Employees whose skills, certifications or education contain all (or any) of the query's
+     * terms, best matches first.
+     */
+    public Map<String, Object> search(String query, Mode mode, int limit) {
+        long start = System.nanoTime();
+        List<String> terms = new ArrayList<>(tokenize(query).keySet());
+        if (terms.isEmpty()) {
+            throw new RuntimeException("The query has no searchable terms");
+        }
+        if (limit < 1 || limit > 500) {
+            throw new RuntimeException("limit must be between 1 and 500");
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        int total;
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(terms, mode);
+            total = matches.cardinality();
+            float[] scores = score(terms, matches);
+            for (int document : topDocuments(matches, scores, limit)) {
+                IndexedEmployee employee = documents.get(document);
+                List<String> matched = new ArrayList<>();
+                for (String term : terms) {
+                    Postings termPostings = postings.get(term);
+                    if (termPostings != null && termPostings.documents.get(document)) {
+                        matched.add(term);
+                    }
+                }
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("id", employee.id);
+                result.put("employeeId", employee.code);
+                result.put("name", employee.name);
+                result.put("score", Math.round(scores[document] * 1000) / 1000.0);
+                result.put("matchedTerms", matched);
+                results.add(result);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("terms", terms);
+        response.put("mode", mode);
+        response.put("total", total);
+        response.put("results", results);
+        response.put("tookMicros", (System.nanoTime() - start) / 1000);
+        return response;
+    }
+
+    private BitSet match(List<String> terms, Mode mode) {
+        BitSet matches = null;
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                if (mode == Mode.ALL) {
+                    return new BitSet();
+                }
+                continue;
+            }
+            if (matches == null) {
+                matches = (BitSet) termPostings.documents.clone();
+            } else if (mode == Mode.ALL) {
+                matches.and(termPostings.documents);
+            } else {
+                matches.or(termPostings.documents);
+            }
+        }
+        return matches != null ? matches : new BitSet();
+    }
+
+    private float[] score(List<String> terms, BitSet matches) {
+        float[] scores = new float[documents.size()];
+        int liveDocuments = documentNumbers.size();
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            float idf = (float) Math.log(1.0 + (double) liveDocuments / termPostings.size);
+            for (int i = 0; i < termPostings.size; i++) {
+                int document = termPostings.documentNumbers[i];
+                if (matches.get(document)) {
+                    scores[document] += termPostings.weights[i] * idf;
+                }
+            }
+        }
+        return scores;
+    }
+
+    // Min-heap of the best `limit` documents; ties go to the lower document number
+    private static List<Integer> topDocuments(BitSet matches, float[] scores, int limit) {
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, (a, b) -> scores[a] != scores[b]
+                ? Float.compare(scores[a], scores[b]) : Integer.compare(b, a));
+        for (int document = matches.nextSetBit(0); document >= 0; document = matches.nextSetBit(document + 1)) {
+            best.add(document);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    // row: id, employeeId, firstName, lastName, skills, certifications, education
+    private void put(Object[] row) {
+        Long id = (Long) row[0];
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, (String) row[4], SKILLS_WEIGHT);
+        addTerms(weights, (String) row[5], CERTIFICATIONS_WEIGHT);
+        addTerms(weights, (String) row[6], EDUCATION_WEIGHT);
+
+        Integer document = documentNumbers.get(id);
+        if (document != null) {
+            removePostings(document);
+        } else {
+            document = freeDocumentNumbers.isEmpty() ? documents.size() : freeDocumentNumbers.pop();
+            documentNumbers.put(id, document);
+            if (document == documents.size()) {
+                documents.add(null);
+            }
+        }
+        String name = (row[2] != null ? row[2] : "") + " " + (row[3] != null ? row[3] : "");
+        documents.set(document, new IndexedEmployee(id, (String) row[1], name.trim(),
+                weights.keySet().toArray(new String[0])));
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(document, entry.getValue());
+        }
+    }
+
+    private void removePostings(int document) {
+        IndexedEmployee previous = documents.get(document);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null && termPostings.remove(document) == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        tokenize(text).forEach((term, occurrences) -> weights.merge(term, weight * occurrences, Integer::sum));
+    }
+
+    // term -> occurrences, in first-seen order
+    private static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            String term = trimDots(token);
+            if (!term.isEmpty() && !STOP_WORDS.contains(term)) {
+                terms.merge(term, 1, Integer::sum);
+            }
+        }
+        return terms;
+    }
+
+    // "java." at the end of a sentence is "java"; a leading dot is kept for ".net"
+    private static String trimDots(String token) {
+        int end = token.length();
+        while (end > 0 && token.charAt(end - 1) == '.') {
+            end--;
+        }
+        return token.substring(0, end);
+    }
+
+    private static final class IndexedEmployee {
+        private final Long id;
+        private final String code;
+        private final String name;
+        private final String[] terms;
+
+        private IndexedEmployee(Long id, String code, String name, String[] terms) {
+            this.id = id;
+            this.code = code;
+            this.name = name;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * Documents containing one term: a bitmap for set operations, and sorted document numbers
+     * with their weights for scoring.
+     */
+    private static final class Postings {
+        private final BitSet documents = new BitSet();
+        private int[] documentNumbers = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int document, int weight) {
+            int position = Arrays.binarySearch(documentNumbers, 0, size, document);
+            if (position >= 0) {
+                weights[position] = weight;
+                return;
+            }
+            position = -position - 1;
+            if (size == documentNumbers.length) {
+                documentNumbers = Arrays.copyOf(documentNumbers, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(documentNumbers, position, documentNumbers, position + 1, size - position);
+            System.arraycopy(weights, position, weights, position + 1, size - position);
+            documentNumbers[position] = document;
+            weights[position] = weight;
+            size++;
+            documents.set(document);
+        }
+
+        // Returns the number of documents left
+        int remove(int document) {
+            int position = Arrays.binarySearch(documentNumbers, 0, size, document);
+            if (position >= 0) {
+                System.arraycopy(documentNumbers, position + 1, documentNumbers, position, size - position - 1);
+                System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+                size--;
+                documents.clear(document);
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.yourcompany.ems.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yourcompany.ems.dto.TeamMemberDto;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Colleagues who share at least one project with an employee, read with a single join query and
+ * cached per employee.
+ *
+ * ProjectService evicts the members of a project whenever its membership changes, and
+ * EmployeeService evicts every list that shows an employee whose profile changed, found through a
+ * reverse index (colleague -> employees whose cached list shows them). Evictions are
+ * repeated after the surrounding transaction commits, so a read that raced the change cannot
+ * leave stale data behind.
+ */
+@Service
+public class TeamMemberService {
+
+    private final EmployeeRepository employeeRepository;
+    private final ProjectRepository projectRepository;
+    private final Cache<Long, List<TeamMemberDto>> teams;
+    // colleague id -> ids whose cached team may list them. Entries can outlive the cached list;
+    // that only costs a needless invalidation, and the set is dropped when the colleague is evicted.
+    private final Map<Long, Set<Long>> listedIn = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TeamMemberService(EmployeeRepository employeeRepository,
+                             ProjectRepository projectRepository,
+                             @Value("${employee.team-cache.max-size:10000}") long maxSize) {
+        this.employeeRepository = employeeRepository;
+        this.projectRepository = projectRepository;
+        this.teams = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public List<TeamMemberDto> getTeamMembers(Long employeeId) {
+        return teams.get(employeeId, this::load);
+    }
+
+    /**
+     * Drop the cached teams of the project's current members and of the given former members.
+     */
+    public void evictProject(Long projectId, Collection<Long> formerMembers) {
+        List<Long> employeeIds = new ArrayList<>(projectRepository.findMemberIds(projectId));
+        if (formerMembers != null) {
+            employeeIds.addAll(formerMembers);
+        }
+        evictNowAndAfterCommit(() -> teams.invalidateAll(employeeIds));
+    }
+
+    /**
+     * Drop the employee's own team and every team that lists the employee.
+     */
+    public void evictEmployee(Long employeeId) {
+        evictNowAndAfterCommit(() -> {
+            teams.invalidate(employeeId);
+            Set<Long> listing = listedIn.remove(employeeId);
+            if (listing != null) {
+                teams.invalidateAll(listing);
+            }
+        });
+    }
+
+    /**
+     * {@link #evictEmployee} for several employees, e.g. a manager and the reports deleted with them.
+     */
+    public void evictEmployees(long[] employeeIds) {
+        for (long employeeId : employeeIds) {
+            evictEmployee(employeeId);
+        }
+    }
+
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private List<TeamMemberDto> load(Long employeeId) {
+        List<Object[]> rows = employeeRepository.findTeamMemberRows(employeeId);
+        if (rows.isEmpty() && !employeeRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found");
+        }
+
+        // Rows repeat per shared project (and per role); fold them into one entry per colleague
+        Map<Long, TeamMemberDto> members = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            TeamMemberDto member = members.computeIfAbsent((Long) row[0], id -> {
+                TeamMemberDto dto = new TeamMemberDto();
+                dto.setId(id);
+                dto.setEmployeeId((String) row[1]);
+                dto.setFirstName((String) row[2]);
+                dto.setLastName((String) row[3]);
+                dto.setFullName(row[2] + " " + row[3]);
+                dto.setEmail((String) row[4]);
+                dto.setContact((String) row[5]);
+                dto.setPhotoUrl((String) row[6]);
+                dto.setRole(row[7] != null ? ((Role.RoleType) row[7]).name() : null);
+                dto.setDepartmentName((String) row[8]);
+                return dto;
+            });
+            Long projectId = (Long) row[9];
+            if (!member.getSharedProjectIds().contains(projectId)) {
+                member.getSharedProjectIds().add(projectId);
+            }
+        }
+        for (Long memberId : members.keySet()) {
+            listedIn.computeIfAbsent(memberId, id -> ConcurrentHashMap.newKeySet()).add(employeeId);
+        }
+        return List.copyOf(members.values());
+    }
+}
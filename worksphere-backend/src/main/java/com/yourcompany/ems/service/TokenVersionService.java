@@ -0,0 +1,42 @@
+package com.yourcompany.ems.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user token versions used to revoke issued JWTs without a database lookup per request.
+ * Every token carries the version current at login; bumping a user's version rejects all
+ * tokens issued before. Versions live in memory only, so they reset on restart and are not
+ * shared between instances.
+ */
+@Service
+public class TokenVersionService {
+
+    @Value("${jwt.revocation.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Invalidate every token issued to the user so far.
+     */
+    public void revokeTokens(Long userId) {
+        if (userId != null) {
+            versions.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    public boolean isRevoked(Long userId, Integer tokenVersion) {
+        if (!enabled) {
+            return false;
+        }
+        return (tokenVersion != null ? tokenVersion : 0) < currentVersion(userId);
+    }
+}
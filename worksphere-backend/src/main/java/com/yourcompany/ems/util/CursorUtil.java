@@ -0,0 +1,82 @@
+package com.yourcompany.ems.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Helpers for keyset (cursor) pagination on list endpoints.
+ * The cursor is an opaque token wrapping the id of the last row of the previous slice,
+ * so the next slice is fetched with "id > cursor" (or "id < cursor" for descending order)
+ * instead of an OFFSET scan.
+ */
+public final class CursorUtil {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 200;
+
+    private CursorUtil() {
+    }
+
+    public static String encode(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            return Long.parseLong(raw);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Parses the sort parameter. Keyset pagination is done on the primary key,
+     * so only "id", "id,asc" and "id,desc" are accepted.
+     */
+    public static Sort.Direction parseDirection(String sort) {
+        if (sort == null || sort.trim().isEmpty()) {
+            return Sort.Direction.ASC;
+        }
+        String[] parts = sort.split(",");
+        if (!"id".equalsIgnoreCase(parts[0].trim())) {
+            throw new RuntimeException("Unsupported sort: " + sort + ". Supported values are: id, id,asc, id,desc");
+        }
+        if (parts.length == 1) {
+            return Sort.Direction.ASC;
+        }
+        try {
+            return Sort.Direction.fromString(parts[1].trim());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported sort direction: " + parts[1].trim());
+        }
+    }
+
+    /**
+     * Resolves the key to continue from: the decoded cursor, or the lowest/highest
+     * possible id when starting from the first slice.
+     */
+    public static Long resolveKey(String cursor, Sort.Direction direction) {
+        Long key = decode(cursor);
+        if (key != null) {
+            return key;
+        }
+        return direction.isAscending() ? 0L : Long.MAX_VALUE;
+    }
+
+    public static Pageable pageable(int size, Sort.Direction direction) {
+        int boundedSize = size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+        return PageRequest.of(0, boundedSize, Sort.by(direction, "id"));
+    }
+}
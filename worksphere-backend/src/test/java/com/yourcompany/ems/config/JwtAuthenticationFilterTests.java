@@ -0,0 +1,114 @@
+package com.yourcompany.ems.config;
+
+import com.yourcompany.ems.service.TokenVersionService;
+import com.yourcompany.ems.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTests {
+
+    private JwtUtil jwtUtil;
+    private UserDetailsService userDetailsService;
+    private TokenVersionService tokenVersionService;
+    private JwtAuthenticationFilter filter;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "worksphereSecretKey2024ForJWTTokenGenerationAndValidation");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100L);
+        jwtUtil.init();
+
+        tokenVersionService = new TokenVersionService();
+        ReflectionTestUtils.setField(tokenVersionService, "enabled", true);
+        userDetailsService = mock(UserDetailsService.class);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "tokenVersionService", tokenVersionService);
+
+        userDetails = User.withUsername("manager@worksphere.com")
+                .password("secret")
+                .authorities("ROLE_MANAGER")
+                .build();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesFromClaimsWithoutUserLookup() throws Exception {
+        String token = jwtUtil.generateToken(userDetails, 5L, tokenVersionService.currentVersion(5L));
+
+        Authentication authentication = filter(token);
+
+        JwtUserPrincipal principal = (JwtUserPrincipal) authentication.getPrincipal();
+        assertEquals(5L, principal.getUserId());
+        assertEquals("manager@worksphere.com", authentication.getName());
+        assertEquals("ROLE_MANAGER", authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(",")));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void revokedTokenIsNotAuthenticated() throws Exception {
+        String token = jwtUtil.generateToken(userDetails, 5L, tokenVersionService.currentVersion(5L));
+        tokenVersionService.revokeTokens(5L);
+
+        assertNull(filter(token));
+        String newToken = jwtUtil.generateToken(userDetails, 5L, tokenVersionService.currentVersion(5L));
+        assertTrue(filter(newToken).isAuthenticated());
+    }
+
+    @Test
+    void tokenWithoutClaimsFallsBackToUserLookup() throws Exception {
+        when(userDetailsService.loadUserByUsername("manager@worksphere.com")).thenReturn(userDetails);
+        String token = jwtUtil.generateToken(userDetails);
+
+        Authentication authentication = filter(token);
+
+        assertEquals(userDetails, authentication.getPrincipal());
+        verify(userDetailsService).loadUserByUsername("manager@worksphere.com");
+    }
+
+    @Test
+    void invalidTokenIsIgnored() throws Exception {
+        assertNull(filter("not-a-token"));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employee/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
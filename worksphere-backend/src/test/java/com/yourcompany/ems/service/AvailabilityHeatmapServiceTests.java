@@ -0,0 +1,107 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.LeaveRequestDto;
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.repository.DepartmentRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class AvailabilityHeatmapServiceTests {
+
+    @Autowired
+    private AvailabilityHeatmapService availabilityHeatmapService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Test
+    void teamAndDepartmentHeatmapsCountApprovedLeavePerDay() {
+        Department department = new Department();
+        department.setName("Heatmap Team");
+        department.setCode("HEAT");
+        Long departmentId = departmentRepository.save(department).getId();
+
+        Long manager = create("heat.manager", null, null);
+        Long lead = create("heat.lead", manager, departmentId);
+        Long engineer = create("heat.engineer", lead, departmentId);
+        Long waiting = create("heat.waiting", lead, null);
+
+        leaveRequestService.approveLeave(apply(lead, manager, "2031-02-27", "2031-03-02").getId());
+        leaveRequestService.approveLeave(apply(engineer, lead, "2031-03-02", "2031-03-03").getId());
+        apply(waiting, lead, "2031-03-01", "2031-03-05"); // pending leave is not counted
+
+        Map<String, Object> team = availabilityHeatmapService.getTeamHeatmap(manager, "2031-03", false);
+        assertEquals(LocalDate.parse("2031-03-31"), team.get("to"));
+        assertEquals(3, team.get("headcount"));
+        int[] onLeave = (int[]) team.get("onLeave");
+        assertEquals(31, onLeave.length);
+        assertArrayEquals(new int[]{1, 2, 1, 0}, Arrays.copyOf(onLeave, 4));
+        assertEquals(1, ((int[]) team.get("available"))[1]);
+
+        Map<String, Object> direct = availabilityHeatmapService.getTeamHeatmap(manager, "2031-03", true);
+        assertEquals(1, direct.get("headcount"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> departments = (List<Map<String, Object>>) availabilityHeatmapService
+                .getDepartmentHeatmap("2031-Q1", departmentId).get("departments");
+        assertEquals(1, departments.size());
+        assertEquals(2, departments.get(0).get("headcount"));
+        int[] quarter = (int[]) departments.get(0).get("onLeave");
+        assertEquals(90, quarter.length);
+        assertEquals(2, quarter[31 + 28 + 1]); // March 2nd
+    }
+
+    @Test
+    void periodsAreMonthsOrQuarters() {
+        assertArrayEquals(new LocalDate[]{LocalDate.parse("2032-04-01"), LocalDate.parse("2032-06-30")},
+                AvailabilityHeatmapService.parsePeriod("2032-q2"));
+        assertArrayEquals(new LocalDate[]{LocalDate.parse("2032-02-01"), LocalDate.parse("2032-02-29")},
+                AvailabilityHeatmapService.parsePeriod("2032-02"));
+        assertThrows(RuntimeException.class, () -> AvailabilityHeatmapService.parsePeriod("2032-Q5"));
+        assertThrows(RuntimeException.class, () -> AvailabilityHeatmapService.parsePeriod("March"));
+    }
+
+    private LeaveRequestDto apply(Long employeeId, Long managerId, String from, String to) {
+        LeaveRequestDto request = new LeaveRequestDto();
+        request.setEmployeeId(employeeId);
+        request.setManagerId(managerId);
+        request.setLeaveType("PAID_LEAVE");
+        request.setStartDate(LocalDate.parse(from));
+        request.setEndDate(LocalDate.parse(to));
+        return leaveRequestService.applyForLeave(request);
+    }
+
+    private Long create(String name, Long managerId, Long departmentId) {
+        EmployeeDto dto = fixtures.newEmployeeDto(name + "@heatmap.test", managerId);
+        dto.setDepartmentId(departmentId);
+        return employeeService.createEmployee(dto).getId();
+    }
+}
@@ -0,0 +1,48 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.support.EmployeeFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class DashboardCounterServiceTests {
+
+    @Autowired
+    private DashboardCounterService dashboardCounterService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deletingAManagerCountsOutTheReportsDeletedWithThem() {
+        Long manager = fixtures.create("counted.manager@counters.test", null).getId();
+        Long lead = fixtures.create("counted.lead@counters.test", manager).getId();
+        fixtures.create("counted.member@counters.test", lead);
+        entityManager.flush();
+        entityManager.clear(); // the cascade reads the reports from the database
+        dashboardCounterService.reconcile();
+        long before = dashboardCounterService.snapshot().getTotalEmployees();
+
+        employeeService.deleteEmployee(manager);
+
+        assertEquals(before - 3, dashboardCounterService.snapshot().getTotalEmployees());
+        dashboardCounterService.reconcile();
+        assertEquals(0, dashboardCounterService.getLastDrift());
+    }
+}
@@ -0,0 +1,47 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeIdentityServiceTests {
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeIdentityService employeeIdentityService;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.findIdByUserUsername(anyString())).thenReturn(Optional.empty());
+        when(employeeRepository.findIdByUserUsername("ada")).thenReturn(Optional.of(1L));
+        when(employeeRepository.findIdByEmail("ada@test.com")).thenReturn(Optional.of(1L));
+        when(employeeRepository.findIdByUserUsername("bob")).thenReturn(Optional.of(2L));
+        employeeIdentityService = new EmployeeIdentityService(employeeRepository, 100);
+    }
+
+    @Test
+    void evictingAnEmployeeDropsEveryUsernameCachedForThemOnly() {
+        assertEquals(1L, employeeIdentityService.getEmployeeId("ada"));
+        assertEquals(1L, employeeIdentityService.getEmployeeId("ada@test.com"));
+        assertEquals(2L, employeeIdentityService.getEmployeeId("bob"));
+
+        employeeIdentityService.evictEmployee(1L);
+        employeeIdentityService.evictEmployee(1L);
+        employeeIdentityService.getEmployeeId("ada");
+        employeeIdentityService.getEmployeeId("ada@test.com");
+        employeeIdentityService.getEmployeeId("bob");
+
+        verify(employeeRepository, times(2)).findIdByUserUsername("ada");
+        verify(employeeRepository, times(2)).findIdByEmail("ada@test.com");
+        verify(employeeRepository, times(1)).findIdByUserUsername("bob");
+    }
+}
@@ -0,0 +1,102 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.EmployeeImportResult;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports write through JDBC in their own transactions, so these tests commit
+ * and remove the imported rows afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(EmployeeFixtures.class)
+class EmployeeImportServiceTests {
+
+    private static final String DOMAIN = "@import.test";
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @AfterEach
+    void removeImportedRows() {
+        ReflectionTestUtils.setField(employeeImportService, "batchSize", 500);
+        fixtures.removeCommitted(DOMAIN);
+    }
+
+    @Test
+    void csvImportResolvesReferencesAndReportsInvalidRows() {
+        String csv = String.join("\n",
+                "firstName,lastName,email,role,departmentCode,managerEmail,experience,dateOfJoining",
+                "Ada,Lead,ada" + DOMAIN + ",MANAGER,ENG,,12,2020-01-15",
+                "Bob,Report,bob" + DOMAIN + ",,ENG,ada" + DOMAIN + ",3,",
+                "Cid,Nowhere,cid" + DOMAIN + ",,NOPE,,,",
+                "Ada,Again,ADA" + DOMAIN + ",,,,,",
+                "Dee,Orphan,dee" + DOMAIN + ",,,missing" + DOMAIN + ",,");
+
+        EmployeeImportResult result = employeeImportService.importEmployees(stream(csv), EmployeeImportService.Format.CSV);
+
+        assertEquals(5, result.getTotalRows());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(EmployeeImportResult.RowError::getRow).toList());
+
+        Employee ada = employeeRepository.findByEmail("ada" + DOMAIN).orElseThrow();
+        Employee bob = employeeRepository.findByEmail("bob" + DOMAIN).orElseThrow();
+        assertEquals(ada.getId(), bob.getManager().getId());
+        assertEquals("ENG", bob.getDepartment().getCode());
+        assertEquals(Role.RoleType.ROLE_MANAGER, ada.getUser().getRoles().iterator().next().getName());
+        assertEquals(12, ada.getExperience());
+        assertNotNull(ada.getEmployeeId());
+        assertTrue(!ada.getEmployeeId().equals(bob.getEmployeeId()), "employee ids must be unique");
+        assertTrue(!ada.getUser().getPassword().equals(bob.getUser().getPassword()), "each user needs its own salt");
+    }
+
+    @Test
+    void ndjsonImportWritesInBatchesAndSkipsUnreadableRecords() {
+        ReflectionTestUtils.setField(employeeImportService, "batchSize", 2);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            ndjson.append("{\"firstName\":\"N").append(i).append("\",\"lastName\":\"Json\",\"email\":\"n")
+                    .append(i).append(DOMAIN).append("\",\"departmentId\":null}\n");
+        }
+        ndjson.append("{\"firstName\":\"Bad\",\"lastName\":\"Json\",\"email\":\"bad").append(DOMAIN)
+                .append("\",\"experience\":\"lots\"}\n");
+
+        EmployeeImportResult result = employeeImportService.importEmployees(stream(ndjson.toString()),
+                EmployeeImportService.Format.NDJSON);
+
+        assertEquals(6, result.getTotalRows());
+        assertEquals(5, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getBatches());
+        assertTrue(employeeRepository.findByEmail("n5" + DOMAIN).isPresent());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
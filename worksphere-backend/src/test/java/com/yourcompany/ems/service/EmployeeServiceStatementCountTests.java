@@ -0,0 +1,186 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.CursorPage;
+import com.yourcompany.ems.dto.EmployeeSummaryDto;
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.repository.DepartmentRepository;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import com.yourcompany.ems.repository.RoleRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that converting employee lists to DTOs costs a bounded number of SQL statements,
+ * i.e. the count does not grow with the number of employees returned.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class EmployeeServiceStatementCountTests {
+
+    // Fetch-graph views load everything convertToDto needs in one statement
+    private static final int GRAPH_STATEMENTS = 1;
+    // Paged view: the slice query plus one batch each for roles and projects
+    private static final int PAGED_STATEMENTS = 3;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int sequence = 0;
+
+    @Test
+    void listViewStatementCountDoesNotGrowWithEmployees() {
+        Employee manager = seedTeam(5);
+        long small = countStatements(() -> employeeService.getAllEmployees());
+
+        seedTeam(40, manager);
+        long large = countStatements(() -> employeeService.getAllEmployees());
+
+        assertEquals(small, large, "getAllEmployees statement count grew with the number of employees");
+        assertEquals(GRAPH_STATEMENTS, large, "getAllEmployees used " + large + " statements");
+    }
+
+    @Test
+    void pagedViewStatementCountDoesNotGrowWithPageSize() {
+        seedTeam(45);
+        long small = countStatements(() -> employeeService.getEmployeesPage(null, 5, null, false));
+        long large = countStatements(() -> employeeService.getEmployeesPage(null, 40, null, false));
+
+        assertEquals(small, large, "getEmployeesPage statement count grew with the page size");
+        assertTrue(large <= PAGED_STATEMENTS, "getEmployeesPage used " + large + " statements");
+    }
+
+    @Test
+    void teamViewStatementCountDoesNotGrowWithTeamSize() {
+        Employee smallManager = seedTeam(5);
+        Employee largeManager = seedTeam(40);
+        long small = countStatements(() -> employeeService.getEmployeesByManager(smallManager.getId()));
+        long large = countStatements(() -> employeeService.getEmployeesByManager(largeManager.getId()));
+
+        assertEquals(small, large, "getEmployeesByManager statement count grew with the team size");
+        assertEquals(GRAPH_STATEMENTS, large, "getEmployeesByManager used " + large + " statements");
+    }
+
+    @Test
+    void detailViewUsesBoundedStatements() {
+        Employee manager = seedTeam(3);
+        Long employeeId = employeeRepository.findByManagerId(manager.getId()).get(0).getId();
+        long statements = countStatements(() -> employeeService.getEmployeeById(employeeId));
+
+        assertEquals(GRAPH_STATEMENTS, statements, "getEmployeeById used " + statements + " statements");
+    }
+
+    @Test
+    void summaryViewsUseSingleProjectionStatement() {
+        seedTeam(20);
+        long list = countStatements(() -> employeeService.getAllEmployeeSummaries());
+        long page = countStatements(() -> employeeService.getEmployeeSummariesPage(null, 10, "id,desc", false));
+
+        assertEquals(1, list, "getAllEmployeeSummaries used " + list + " statements");
+        assertEquals(1, page, "getEmployeeSummariesPage used " + page + " statements");
+    }
+
+    @Test
+    void summaryViewsListMultiRoleUsersOnce() {
+        Employee manager = seedTeam(3);
+        manager.getUser().getRoles().add(roleRepository.findByName(Role.RoleType.ROLE_EMPLOYEE).orElseThrow());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> listed = employeeService.getAllEmployeeSummaries().stream().map(EmployeeSummaryDto::getId).toList();
+        assertEquals(listed.size(), new HashSet<>(listed).size(), "getAllEmployeeSummaries repeated an employee");
+
+        List<EmployeeSummaryDto> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<EmployeeSummaryDto> page = employeeService.getEmployeeSummariesPage(cursor, 2, "id,asc", false);
+            assertTrue(page.getItems().size() == 2 || !page.isHasNext(), "short page before the end");
+            paged.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(listed.size(), paged.size());
+        assertEquals(new HashSet<>(listed), paged.stream().map(EmployeeSummaryDto::getId).collect(Collectors.toSet()));
+        assertEquals(Role.RoleType.ROLE_EMPLOYEE.name(), paged.stream()
+                .filter(summary -> summary.getId().equals(manager.getId())).findFirst().orElseThrow().getRole());
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Employee seedTeam(int size) {
+        return seedTeam(size, createEmployee(Role.RoleType.ROLE_MANAGER, null, null));
+    }
+
+    private Employee seedTeam(int size, Employee manager) {
+        Department department = departmentRepository.findByCode("ENG").orElseThrow();
+        Project project = new Project();
+        project.setName("Project " + (++sequence));
+        project.setProjectCode("PRJ-T" + sequence);
+        project.setManager(manager);
+        project = projectRepository.save(project);
+
+        for (int i = 0; i < size; i++) {
+            Employee employee = createEmployee(Role.RoleType.ROLE_EMPLOYEE, manager, department);
+            employee.getProjects().add(project);
+            employeeRepository.save(employee);
+        }
+        return manager;
+    }
+
+    private Employee createEmployee(Role.RoleType roleType, Employee manager, Department department) {
+        Employee employee = fixtures.newEmployee("user" + (++sequence) + "@test.com", roleType);
+        employee.setManager(manager);
+        employee.setDepartment(department);
+        return employeeRepository.save(employee);
+    }
+}
@@ -0,0 +1,94 @@
+package com.yourcompany.ems.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class ExportServiceTests {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seedEmployees() {
+        for (int n = 1; n <= 3; n++) {
+            Employee employee = fixtures.newEmployee("export" + n + "@test.com");
+            employee.setLastName("Last, " + n); // the comma must come back quoted
+            employee.setDateOfJoining(LocalDate.of(2024, 1, n));
+            employeeRepository.save(employee);
+        }
+    }
+
+    @Test
+    void csvExportWritesHeaderAndOneLinePerEmployee() {
+        List<String> columns = exportService.resolveColumns(ExportService.Dataset.EMPLOYEES, "id,email,lastName,role");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ExportService.Dataset.EMPLOYEES, columns, ExportService.Format.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(employeeRepository.count(), rows);
+        assertTrue(rows >= 3);
+        assertEquals("id,email,lastName,role", lines[0]);
+        assertEquals(rows + 1, lines.length);
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("\"Last, 1\""));
+    }
+
+    @Test
+    void ndjsonExportWritesOnlyTheSelectedColumns() throws Exception {
+        List<String> columns = exportService.resolveColumns(ExportService.Dataset.EMPLOYEES, "employeeId, dateOfJoining");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = exportService.export(ExportService.Dataset.EMPLOYEES, columns, ExportService.Format.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(rows, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(List.of("employeeId", "dateOfJoining"), iterable(first.fieldNames()));
+    }
+
+    @Test
+    void unknownColumnIsRejectedBeforeWriting() {
+        assertThrows(RuntimeException.class,
+                () -> exportService.resolveColumns(ExportService.Dataset.LEAVES, "id,password"));
+    }
+
+    private static List<String> iterable(Iterator<String> names) {
+        List<String> result = new ArrayList<>();
+        names.forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.IdSequence;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.IdSequenceRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdAllocatorLeaseRetryTests {
+
+    private IdSequenceRepository idSequenceRepository;
+    private IdAllocatorService idAllocatorService;
+
+    @BeforeEach
+    void setUp() {
+        idSequenceRepository = mock(IdSequenceRepository.class);
+        when(idSequenceRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        when(employeeRepository.findAllEmployeeIdsWithPrefix()).thenReturn(List.of("EMP004"));
+        idAllocatorService = new IdAllocatorService(idSequenceRepository, employeeRepository,
+                mock(ProjectRepository.class), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void aLeaseThatLostALockRaceOnTheSequenceRowIsRetried() {
+        when(idSequenceRepository.findForUpdate(IdAllocatorService.EMPLOYEE_PREFIX))
+                .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+                .thenThrow(new DeadlockLoserDataAccessException("deadlock", null))
+                .thenReturn(Optional.of(new IdSequence(IdAllocatorService.EMPLOYEE_PREFIX, 5L)));
+
+        assertEquals("EMP005", idAllocatorService.nextEmployeeId());
+        verify(idSequenceRepository, times(3)).findForUpdate(IdAllocatorService.EMPLOYEE_PREFIX);
+    }
+
+    @Test
+    void aLeaseGivesUpAfterRepeatedLockFailures() {
+        when(idSequenceRepository.findForUpdate(IdAllocatorService.EMPLOYEE_PREFIX))
+                .thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+        assertThrows(CannotAcquireLockException.class, () -> idAllocatorService.nextEmployeeId());
+        verify(idSequenceRepository, times(3)).findForUpdate(IdAllocatorService.EMPLOYEE_PREFIX);
+    }
+}
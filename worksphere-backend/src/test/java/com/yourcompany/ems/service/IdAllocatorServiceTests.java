@@ -0,0 +1,91 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.repository.IdSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "id.allocator.block-size=7")
+@ActiveProfiles("test")
+class IdAllocatorServiceTests {
+
+    @Autowired
+    private IdAllocatorService idAllocatorService;
+
+    @Autowired
+    private IdSequenceRepository idSequenceRepository;
+
+    @Test
+    void concurrentCallersNeverReceiveTheSameCode() throws Exception {
+        int threads = 8;
+        int perThread = 250;
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertTrue(codes.add(idAllocatorService.nextEmployeeId()), "duplicate employee id");
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads * perThread, codes.size());
+    }
+
+    @Test
+    void blocksAreConsecutiveAndPersisted() {
+        List<String> ids = idAllocatorService.nextEmployeeIds(20);
+        long first = Long.parseLong(ids.get(0).substring(3));
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(String.format("EMP%03d", first + i), ids.get(i));
+        }
+        long highWater = idSequenceRepository.findById(IdAllocatorService.EMPLOYEE_PREFIX).orElseThrow().getNextValue();
+        assertTrue(highWater >= first + ids.size(), "leased range must be recorded before it is handed out");
+
+        String project = idAllocatorService.nextProjectCode();
+        assertTrue(project.matches("PRJ\\d{3,}"), project);
+    }
+
+    @Test
+    void requestsLargerThanABlockLeaveTheCurrentBlockAlone() {
+        long code = number(idAllocatorService.nextEmployeeId());
+        if (code == highWater() - 1) {
+            // That was the last code of its block; start a fresh one so codes are left in it
+            code = number(idAllocatorService.nextEmployeeId());
+        }
+        long blockEnd = highWater();
+
+        List<String> large = idAllocatorService.nextEmployeeIds(20);
+        assertEquals(blockEnd, number(large.get(0)), "a large request is leased on its own");
+        assertEquals(code + 1, number(idAllocatorService.nextEmployeeId()));
+    }
+
+    private long highWater() {
+        return idSequenceRepository.findById(IdAllocatorService.EMPLOYEE_PREFIX).orElseThrow().getNextValue();
+    }
+
+    private static long number(String code) {
+        return Long.parseLong(code.substring(IdAllocatorService.EMPLOYEE_PREFIX.length()));
+    }
+}
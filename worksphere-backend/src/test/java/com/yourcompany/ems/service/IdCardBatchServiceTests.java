@@ -0,0 +1,105 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.Department;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.repository.DepartmentRepository;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class IdCardBatchServiceTests {
+
+    @Autowired
+    private IdCardBatchService idCardBatchService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Test
+    void departmentJobWritesOneCardPerEmployeeAndReportsProgress() throws Exception {
+        Department department = new Department();
+        department.setName("Badges");
+        department.setCode("BDG");
+        department = departmentRepository.save(department);
+        for (int n = 1; n <= 12; n++) {
+            createEmployee("badge" + n, department, LocalDate.of(2024, 6, 1));
+        }
+        createEmployee("outsider", null, LocalDate.of(2024, 6, 1));
+
+        String jobId = idCardBatchService.startJob(department.getId(), null, null);
+        assertEquals("PENDING", String.valueOf(idCardBatchService.getJobStatus(jobId).get("state")));
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        idCardBatchService.writeZip(jobId, zip);
+
+        Set<String> entries = new HashSet<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(zip.toByteArray()))) {
+            for (ZipEntry entry; (entry = input.getNextEntry()) != null; ) {
+                byte[] header = input.readNBytes(5);
+                assertEquals("%PDF-", new String(header, StandardCharsets.US_ASCII), entry.getName());
+                entries.add(entry.getName());
+            }
+        }
+        assertEquals(12, entries.size());
+
+        Map<String, Object> status = idCardBatchService.getJobStatus(jobId);
+        assertEquals("COMPLETED", String.valueOf(status.get("state")));
+        assertEquals(12, status.get("completed"));
+        assertEquals(0, status.get("failed"));
+        assertEquals(100, status.get("progressPercent"));
+
+        assertThrows(RuntimeException.class, () -> idCardBatchService.writeZip(jobId, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void joiningDateRangeSelectsOnlyThoseEmployees() {
+        createEmployee("june", null, LocalDate.of(2031, 6, 15));
+        createEmployee("july", null, LocalDate.of(2031, 7, 1));
+
+        String jobId = idCardBatchService.startJob(null, LocalDate.of(2031, 6, 1), LocalDate.of(2031, 6, 30));
+
+        assertEquals(1, idCardBatchService.getJobStatus(jobId).get("total"));
+    }
+
+    @Test
+    void jobWithoutAFilterIsRejected() {
+        assertThrows(RuntimeException.class, () -> idCardBatchService.startJob(null, null, null));
+        assertThrows(RuntimeException.class,
+                () -> idCardBatchService.startJob(null, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+    }
+
+    private void createEmployee(String name, Department department, LocalDate joined) {
+        Employee employee = fixtures.newEmployee(name + "@test.com");
+        employee.setDepartment(department);
+        employee.setDateOfJoining(joined);
+        employeeRepository.save(employee);
+    }
+}
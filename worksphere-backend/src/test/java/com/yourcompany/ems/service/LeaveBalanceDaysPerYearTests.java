@@ -0,0 +1,33 @@
+package com.yourcompany.ems.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LeaveBalanceDaysPerYearTests {
+
+    @Test
+    void leaveWithinOneYearCountsBothEnds() {
+        assertEquals(Map.of(2036, 1), LeaveBalanceService.daysPerYear(LocalDate.parse("2036-05-04"), LocalDate.parse("2036-05-04")));
+        assertEquals(Map.of(2036, 3), LeaveBalanceService.daysPerYear(LocalDate.parse("2036-02-28"), LocalDate.parse("2036-03-01")));
+    }
+
+    @Test
+    void leaveOverNewYearIsSplitInYearOrder() {
+        Map<Integer, Integer> days = LeaveBalanceService.daysPerYear(LocalDate.parse("2035-12-30"), LocalDate.parse("2036-01-02"));
+        assertEquals(List.of(2035, 2036), List.copyOf(days.keySet()));
+        assertEquals(List.of(2, 2), List.copyOf(days.values()));
+
+        Map<Integer, Integer> spanning = LeaveBalanceService.daysPerYear(LocalDate.parse("2035-12-31"), LocalDate.parse("2037-01-01"));
+        assertEquals(List.of(1, 366, 1), List.copyOf(spanning.values()));
+    }
+
+    @Test
+    void endBeforeStartHasNoDays() {
+        assertEquals(Map.of(), LeaveBalanceService.daysPerYear(LocalDate.parse("2036-05-04"), LocalDate.parse("2036-05-03")));
+    }
+}
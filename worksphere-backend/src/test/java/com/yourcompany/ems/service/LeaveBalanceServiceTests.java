@@ -0,0 +1,136 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.LeaveRequestDto;
+import com.yourcompany.ems.entity.LeaveRequest;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The rebuild reads committed rows on its own threads, so these tests commit and remove their
+ * employees and leave requests afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "leave.balance.rebuild-partitions=3")
+@Import(EmployeeFixtures.class)
+class LeaveBalanceServiceTests {
+
+    private static final String DOMAIN = "@balance.test";
+
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeCommittedRows() {
+        fixtures.removeCommitted(DOMAIN);
+    }
+
+    @Test
+    void transitionsMoveDaysBetweenPendingAndApprovedPerYear() {
+        Long manager = create("ledger.manager", null);
+        Long employee = create("ledger.employee", manager);
+
+        Long turnOfYear = apply(employee, manager, "PAID_LEAVE", "2035-12-30", "2036-01-02");
+        Long sick = apply(employee, manager, "SICK_LEAVE", "2036-01-05", "2036-01-07");
+        assertBalance(employee, 2035, LeaveRequest.LeaveType.PAID_LEAVE, 0, 2, 18);
+        assertBalance(employee, 2036, LeaveRequest.LeaveType.PAID_LEAVE, 0, 2, 18);
+        assertBalance(employee, 2036, LeaveRequest.LeaveType.SICK_LEAVE, 0, 3, 7);
+
+        leaveRequestService.approveLeave(turnOfYear);
+        leaveRequestService.approveLeave(turnOfYear); // no change the second time
+        assertBalance(employee, 2035, LeaveRequest.LeaveType.PAID_LEAVE, 2, 0, 18);
+        assertBalance(employee, 2036, LeaveRequest.LeaveType.PAID_LEAVE, 2, 0, 18);
+
+        leaveRequestService.rejectLeave(turnOfYear);
+        leaveRequestService.rejectLeave(sick);
+        assertBalance(employee, 2036, LeaveRequest.LeaveType.PAID_LEAVE, 0, 0, 20);
+        assertBalance(employee, 2036, LeaveRequest.LeaveType.SICK_LEAVE, 0, 0, 10);
+
+        List<Map<String, Object>> all = leaveBalanceService.getBalances(employee, 2036);
+        assertEquals(LeaveRequest.LeaveType.values().length, all.size());
+        assertNull(leaveBalanceService.getBalance(employee, 2036, LeaveRequest.LeaveType.UNPAID_LEAVE).get("remainingDays"));
+    }
+
+    @Test
+    void rebuildInPartitionsMatchesTheIncrementalLedger() {
+        Long manager = create("rebuild.manager", null);
+        List<Long> employees = new ArrayList<>();
+        for (int n = 0; n < 5; n++) {
+            Long employee = create("rebuild.employee" + n, manager);
+            employees.add(employee);
+            Long paid = apply(employee, manager, "PAID_LEAVE", "2037-12-2" + n, "2038-01-0" + (n + 1));
+            apply(employee, manager, "SICK_LEAVE", "2038-02-0" + (n + 1), "2038-02-1" + n);
+            if (n % 2 == 0) {
+                leaveRequestService.approveLeave(paid);
+            }
+            if (n == 3) {
+                leaveRequestService.rejectLeave(paid);
+            }
+        }
+        List<List<Object>> incremental = totals(employees);
+
+        jdbcTemplate.update("UPDATE leave_balances SET approved_days = 99, pending_days = 99");
+        Map<String, Object> result = leaveBalanceService.rebuild().orElseThrow();
+
+        assertEquals(3, result.get("partitions"));
+        assertEquals(incremental, totals(employees));
+    }
+
+    private List<List<Object>> totals(List<Long> employees) {
+        List<List<Object>> totals = new ArrayList<>();
+        for (Long employee : employees) {
+            for (int year = 2037; year <= 2038; year++) {
+                for (Map<String, Object> balance : leaveBalanceService.getBalances(employee, year)) {
+                    totals.add(List.of(employee, year, balance.get("leaveType"),
+                            balance.get("approvedDays"), balance.get("pendingDays")));
+                }
+            }
+        }
+        return totals;
+    }
+
+    private void assertBalance(Long employee, int year, LeaveRequest.LeaveType type, int approved, int pending, int remaining) {
+        Map<String, Object> balance = leaveBalanceService.getBalance(employee, year, type);
+        assertEquals(approved, balance.get("approvedDays"), "approved " + type + " " + year);
+        assertEquals(pending, balance.get("pendingDays"), "pending " + type + " " + year);
+        assertEquals(remaining, balance.get("remainingDays"), "remaining " + type + " " + year);
+    }
+
+    private Long apply(Long employeeId, Long managerId, String type, String from, String to) {
+        LeaveRequestDto request = new LeaveRequestDto();
+        request.setEmployeeId(employeeId);
+        request.setManagerId(managerId);
+        request.setLeaveType(type);
+        request.setStartDate(LocalDate.parse(from));
+        request.setEndDate(LocalDate.parse(to));
+        return leaveRequestService.applyForLeave(request).getId();
+    }
+
+    private Long create(String name, Long managerId) {
+        return fixtures.create(name + DOMAIN, managerId).getId();
+    }
+}
@@ -0,0 +1,51 @@
+package com.yourcompany.ems.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LeaveCalendarDayBitsTests {
+
+    @Test
+    void setDaysAreFoundAcrossWordAndYearBoundaries() {
+        LeaveCalendarService.DayBits bits = new LeaveCalendarService.DayBits();
+        bits.set(LocalDate.parse("2032-03-04"), LocalDate.parse("2032-03-05")); // days 63 and 64 of a leap year
+        bits.set(LocalDate.parse("2032-12-31"), LocalDate.parse("2033-01-01"));
+
+        LocalDate from = LocalDate.parse("2032-03-03");
+        assertEquals(1, bits.first(from, LocalDate.parse("2033-12-31")));
+        assertEquals(-1, bits.first(LocalDate.parse("2032-03-06"), LocalDate.parse("2032-12-30")));
+        assertEquals(1, bits.first(LocalDate.parse("2032-12-30"), LocalDate.parse("2033-01-05")));
+        assertEquals(0, bits.first(LocalDate.parse("2033-01-01"), LocalDate.parse("2033-01-01")));
+    }
+
+    @Test
+    void addToCountsEachSetDayOnce() {
+        LeaveCalendarService.DayBits bits = new LeaveCalendarService.DayBits();
+        bits.set(LocalDate.parse("2032-03-04"), LocalDate.parse("2032-03-05"));
+        bits.set(LocalDate.parse("2032-03-05"), LocalDate.parse("2032-03-05")); // overlapping set is idempotent
+        bits.set(LocalDate.parse("2032-12-31"), LocalDate.parse("2033-01-01"));
+
+        int[] counts = new int[4];
+        bits.addTo(counts, LocalDate.parse("2032-03-03"));
+        assertArrayEquals(new int[]{0, 1, 1, 0}, counts);
+
+        int[] turn = new int[3];
+        bits.addTo(turn, LocalDate.parse("2032-12-30"));
+        bits.addTo(turn, LocalDate.parse("2032-12-30"));
+        assertArrayEquals(new int[]{0, 2, 2}, turn);
+    }
+
+    @Test
+    void emptyBitsFindNothing() {
+        LeaveCalendarService.DayBits bits = new LeaveCalendarService.DayBits();
+        assertEquals(-1, bits.first(LocalDate.parse("2031-01-01"), LocalDate.parse("2032-12-31")));
+
+        int[] counts = new int[400];
+        bits.addTo(counts, LocalDate.parse("2031-06-01"));
+        assertArrayEquals(new int[400], counts);
+    }
+}
@@ -0,0 +1,87 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.LeaveRequestDto;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class LeaveCalendarServiceTests {
+
+    @Autowired
+    private LeaveCalendarService leaveCalendarService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Test
+    void overlappingSelfRequestsAreRefusedUntilRejected() {
+        Long manager = create("cal.manager", null);
+        Long employee = create("cal.employee", manager);
+
+        LeaveRequestDto first = apply(employee, manager, "2031-03-02", "2031-03-06");
+        assertThrows(RuntimeException.class, () -> apply(employee, manager, "2031-03-06", "2031-03-09"));
+        assertThrows(RuntimeException.class, () -> apply(employee, manager, "2031-03-01", "2031-03-10"));
+        apply(employee, manager, "2031-03-07", "2031-03-09"); // adjacent is fine
+        assertEquals(LocalDate.parse("2031-03-04"),
+                leaveCalendarService.findOverlap(employee, LocalDate.parse("2031-03-04"), LocalDate.parse("2031-03-20")));
+
+        leaveRequestService.rejectLeave(first.getId());
+        assertNull(leaveCalendarService.findOverlap(employee, LocalDate.parse("2031-03-01"), LocalDate.parse("2031-03-06")));
+        apply(employee, manager, "2031-03-02", "2031-03-03");
+    }
+
+    @Test
+    void coverageCountsTeammatesOutOnEachDay() {
+        Long manager = create("cov.manager", null);
+        Long asking = create("cov.asking", manager);
+        Long approved = create("cov.approved", manager);
+        Long pending = create("cov.pending", manager);
+        create("cov.present", manager);
+
+        leaveRequestService.approveLeave(apply(approved, manager, "2031-12-30", "2032-01-01").getId());
+        apply(pending, manager, "2032-01-01", "2032-01-02");
+        LeaveRequestDto request = apply(asking, manager, "2031-12-31", "2032-01-02");
+
+        Map<String, Object> coverage = leaveRequestService.getTeamCoverage(request.getId());
+        assertEquals(3, coverage.get("teamSize"));
+        assertEquals(1, coverage.get("minAvailable"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> days = (List<Map<String, Object>>) coverage.get("days");
+        assertEquals(List.of(1, 1, 0), days.stream().map(day -> day.get("onLeave")).toList());
+        assertEquals(List.of(0, 1, 1), days.stream().map(day -> day.get("pending")).toList());
+        assertEquals(List.of(2, 1, 2), days.stream().map(day -> day.get("available")).toList());
+    }
+
+    private LeaveRequestDto apply(Long employeeId, Long managerId, String from, String to) {
+        LeaveRequestDto request = new LeaveRequestDto();
+        request.setEmployeeId(employeeId);
+        request.setManagerId(managerId);
+        request.setLeaveType("PAID_LEAVE");
+        request.setStartDate(LocalDate.parse(from));
+        request.setEndDate(LocalDate.parse(to));
+        return leaveRequestService.applyForLeave(request);
+    }
+
+    private Long create(String name, Long managerId) {
+        return fixtures.create(name + "@calendar.test", managerId).getId();
+    }
+}
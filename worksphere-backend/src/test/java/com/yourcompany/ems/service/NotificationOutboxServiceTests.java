@@ -0,0 +1,174 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.LeaveRequestDto;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.OutboxNotification;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.OutboxNotificationRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The dispatcher works in its own transactions, so these tests commit outbox rows and
+ * delete them afterwards. Deliveries go to a recording sender that can be told to fail.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"notifications.batch-size=2", "notifications.max-attempts=2"})
+@Import(EmployeeFixtures.class)
+class NotificationOutboxServiceTests {
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private OutboxNotificationRepository outboxRepository;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingSender sender;
+
+    @BeforeEach
+    void resetSender() {
+        sender.recipients.clear();
+        sender.failures = 0;
+    }
+
+    @AfterEach
+    void removeOutboxRows() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void queuedNotificationsAreDeliveredInBatches() {
+        transaction().executeWithoutResult(status -> {
+            for (int i = 1; i <= 5; i++) {
+                notificationOutboxService.enqueue("TEST", "user" + i + "@test.com", "Subject " + i, "Body " + i);
+            }
+        });
+
+        assertEquals(5, notificationOutboxService.dispatchDue()); // three batches of at most two
+
+        assertEquals(List.of("user1@test.com", "user2@test.com", "user3@test.com", "user4@test.com", "user5@test.com"),
+                sender.recipients);
+        assertEquals(5, outboxRepository.countByStatus(OutboxNotification.Status.SENT));
+        assertEquals(0, notificationOutboxService.dispatchDue());
+    }
+
+    @Test
+    void failedDeliveryIsRetriedLaterAndEventuallyGivenUp() {
+        sender.failures = 1;
+        transaction().executeWithoutResult(status ->
+                notificationOutboxService.enqueue("TEST", "flaky@test.com", "Subject", "Body"));
+
+        assertEquals(1, notificationOutboxService.dispatchDue());
+        OutboxNotification pending = outboxRepository.findAll().get(0);
+        assertEquals(OutboxNotification.Status.PENDING, pending.getStatus());
+        assertEquals(1, pending.getAttempts());
+        assertEquals("SMTP unavailable", pending.getLastError());
+        assertTrue(pending.getNextAttemptAt().isAfter(LocalDateTime.now()), "retry must be backed off");
+        assertEquals(0, notificationOutboxService.dispatchDue(), "not due again yet");
+
+        // Make it due; the second attempt is the last one allowed
+        pending.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(pending);
+        sender.failures = 1;
+
+        notificationOutboxService.dispatchDue();
+        OutboxNotification failed = outboxRepository.findAll().get(0);
+        assertEquals(OutboxNotification.Status.FAILED, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+        assertTrue(sender.recipients.isEmpty());
+    }
+
+    @Test
+    void leaveNotificationIsQueuedOnlyWithItsTransaction() {
+        transaction().executeWithoutResult(status -> {
+            Employee manager = createEmployee("outbox.manager");
+            Employee employee = createEmployee("outbox.employee");
+            LeaveRequestDto request = new LeaveRequestDto();
+            request.setEmployeeId(employee.getId());
+            request.setManagerId(manager.getId());
+            request.setLeaveType("PAID_LEAVE");
+            request.setStartDate(LocalDate.of(2030, 1, 6));
+            request.setEndDate(LocalDate.of(2030, 1, 10));
+            request.setReason("Holiday");
+
+            leaveRequestService.applyForLeave(request);
+
+            List<OutboxNotification> queued = outboxRepository.findAll();
+            assertEquals(1, queued.size());
+            assertEquals("outbox.manager@test.com", queued.get(0).getRecipient());
+            assertEquals("LEAVE_REQUESTED", queued.get(0).getType());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxRepository.count(), "a rolled back leave request must not notify anyone");
+        assertThrows(RuntimeException.class,
+                () -> notificationOutboxService.enqueue("TEST", "x@test.com", "outside", "a transaction"));
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private Employee createEmployee(String name) {
+        return employeeRepository.save(fixtures.newEmployee(name + "@test.com"));
+    }
+
+    @TestConfiguration
+    static class RecordingSenderConfig {
+
+        @Bean
+        @Primary
+        RecordingSender recordingSender() {
+            return new RecordingSender();
+        }
+    }
+
+    static final class RecordingSender implements NotificationSender {
+        private final List<String> recipients = new ArrayList<>();
+        private int failures = 0;
+
+        @Override
+        public void send(String recipient, String subject, String body) throws Exception {
+            if (failures > 0) {
+                failures--;
+                throw new Exception("SMTP unavailable");
+            }
+            recipients.add(recipient);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class OrgChartIndexServiceTests {
+
+    @Autowired
+    private OrgChartIndexService orgChartIndexService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Test
+    void answersSubtreeChainAndSpanQueries() {
+        // ceo -> cto -> (dev1, dev2 -> intern), ceo -> cfo
+        Long ceo = create("ceo", null).getId();
+        Long cto = create("cto", ceo).getId();
+        Long cfo = create("cfo", ceo).getId();
+        Long dev1 = create("dev1", cto).getId();
+        Long dev2 = create("dev2", cto).getId();
+        Long intern = create("intern", dev2).getId();
+
+        Map<String, Object> subtree = orgChartIndexService.getSubtree(ceo, null);
+        assertEquals(5, subtree.get("totalReports"));
+        assertEquals(List.of(cto, dev1, dev2, intern, cfo), ids(subtree.get("employees")));
+        assertEquals(List.of(cto, cfo), ids(orgChartIndexService.getSubtree(ceo, 1).get("employees")));
+
+        assertEquals(List.of(dev2, cto, ceo), ids(orgChartIndexService.getChainOfCommand(intern)));
+        assertTrue(orgChartIndexService.reportsTo(intern, ceo));
+        assertFalse(orgChartIndexService.reportsTo(cfo, cto));
+
+        Map<String, Object> span = orgChartIndexService.getSpanOfControl(ceo);
+        assertEquals(2, span.get("directReports"));
+        assertEquals(List.of(2, 2, 1), span.get("headcountByLevel"));
+        assertEquals(3, span.get("managers"));
+        assertEquals(2, span.get("widestSpan"));
+    }
+
+    @Test
+    void managerChangesMoveTheSubtreeAndLoopsAreRejected() {
+        Long head = create("head", null).getId();
+        EmployeeDto lead = create("lead", head);
+        Long member = create("member", lead.getId()).getId();
+        Long other = create("other", null).getId();
+
+        lead.setManagerId(other);
+        employeeService.updateEmployee(lead.getId(), lead);
+        assertTrue(orgChartIndexService.reportsTo(member, other));
+        assertFalse(orgChartIndexService.reportsTo(member, head));
+
+        EmployeeDto top = employeeService.getEmployeeById(other);
+        top.setManagerId(member);
+        assertThrows(RuntimeException.class, () -> employeeService.updateEmployee(other, top));
+        assertTrue(orgChartIndexService.getChainOfCommand(other).isEmpty());
+    }
+
+    @Test
+    void removingAManagerDropsTheirReportsAndBatchLinksApplyOnNextRead() {
+        Long head = create("chief", null).getId();
+        Long lead = create("deputy", head).getId();
+        Long member = create("assistant", lead).getId();
+
+        assertArrayEquals(new long[]{lead, member}, orgChartIndexService.remove(lead));
+        assertEquals(0, orgChartIndexService.getSubtree(head, null).get("totalReports"));
+        assertThrows(RuntimeException.class, () -> orgChartIndexService.getChainOfCommand(member));
+
+        orgChartIndexService.setManagers(Map.of(lead, head, member, lead));
+        assertEquals(List.of(lead, head), ids(orgChartIndexService.getChainOfCommand(member)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(Object employees) {
+        return ((List<Map<String, Object>>) employees).stream()
+                .map(employee -> (Long) employee.get("id"))
+                .toList();
+    }
+
+    private EmployeeDto create(String name, Long managerId) {
+        return fixtures.create(name + "@orgchart.test", managerId);
+    }
+}
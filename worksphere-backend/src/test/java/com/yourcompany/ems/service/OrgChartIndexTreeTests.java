@@ -0,0 +1,92 @@
+package com.yourcompany.ems.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The Euler-tour snapshot without a database: reporting lines are set with
+ * {@link OrgChartIndexService#setManagers}.
+ */
+class OrgChartIndexTreeTests {
+
+    private OrgChartIndexService orgChartIndexService;
+
+    @BeforeEach
+    void setUp() {
+        orgChartIndexService = new OrgChartIndexService(null);
+        // 1 -> (2 -> (4, 5 -> 6), 3)
+        Map<Long, Long> links = new HashMap<>();
+        links.put(1L, null);
+        links.put(2L, 1L);
+        links.put(3L, 1L);
+        links.put(4L, 2L);
+        links.put(5L, 2L);
+        links.put(6L, 5L);
+        orgChartIndexService.setManagers(links);
+    }
+
+    @Test
+    void intervalsAnswerAncestorAndReportQueries() {
+        assertTrue(orgChartIndexService.reportsTo(6L, 1L));
+        assertTrue(orgChartIndexService.reportsTo(6L, 2L));
+        assertFalse(orgChartIndexService.reportsTo(6L, 3L));
+        assertFalse(orgChartIndexService.reportsTo(1L, 1L));
+        assertThrows(RuntimeException.class, () -> orgChartIndexService.reportsTo(7L, 1L));
+
+        assertArrayEquals(new long[]{2L, 3L}, orgChartIndexService.getReportIds(1L, true));
+        assertArrayEquals(new long[]{2L, 4L, 5L, 6L, 3L}, orgChartIndexService.getReportIds(1L, false));
+        assertArrayEquals(new long[0], orgChartIndexService.getReportIds(6L, false));
+        assertArrayEquals(new long[0], orgChartIndexService.getReportIds(99L, true));
+
+        Map<String, Object> span = orgChartIndexService.getSpanOfControl(2L);
+        assertEquals(3, span.get("totalReports"));
+        assertEquals(List.of(2, 1), span.get("headcountByLevel"));
+        assertEquals(2L, span.get("widestSpanManagerId"));
+    }
+
+    @Test
+    void cyclesAreDetectedBeforeTheyAreSaved() {
+        assertTrue(orgChartIndexService.wouldCreateCycle(2L, 6L));
+        assertTrue(orgChartIndexService.wouldCreateCycle(3L, 3L));
+        assertFalse(orgChartIndexService.wouldCreateCycle(3L, 6L));
+        assertFalse(orgChartIndexService.wouldCreateCycle(1L, null));
+        assertFalse(orgChartIndexService.wouldCreateCycle(99L, 1L));
+    }
+
+    @Test
+    void changesApplyOnTheNextRead() {
+        orgChartIndexService.setManager(5L, 3L);
+        assertTrue(orgChartIndexService.reportsTo(6L, 3L));
+        assertFalse(orgChartIndexService.reportsTo(6L, 2L));
+
+        assertArrayEquals(new long[]{3L, 5L, 6L}, orgChartIndexService.remove(3L));
+        assertArrayEquals(new long[]{2L, 4L}, orgChartIndexService.getReportIds(1L, false));
+        assertArrayEquals(new long[0], orgChartIndexService.remove(3L));
+    }
+
+    @Test
+    void loopsInStoredDataAreCutInsteadOfHangingTheBuild() {
+        // 7 and 8 manage each other, 9 reports into the loop
+        orgChartIndexService.setManagers(Map.of(7L, 8L, 8L, 7L, 9L, 8L));
+
+        assertTrue(orgChartIndexService.reportsTo(8L, 7L));
+        assertFalse(orgChartIndexService.reportsTo(7L, 8L));
+        assertTrue(orgChartIndexService.reportsTo(9L, 7L));
+        assertEquals(2, orgChartIndexService.getSpanOfControl(7L).get("totalReports"));
+        // 7 was cut loose as a root, so it is no longer one of 8's direct reports
+        assertArrayEquals(new long[]{9L}, orgChartIndexService.getReportIds(8L, true));
+        assertEquals(1, orgChartIndexService.getSpanOfControl(8L).get("directReports"));
+        assertArrayEquals(new long[]{8L}, orgChartIndexService.getReportIds(7L, true));
+        assertTrue(orgChartIndexService.reportsTo(6L, 1L), "the rest of the chart is unaffected");
+    }
+}
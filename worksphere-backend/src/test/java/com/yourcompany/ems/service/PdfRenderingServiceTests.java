@@ -0,0 +1,103 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class PdfRenderingServiceTests {
+
+    @Autowired
+    private PdfRenderingService pdfRenderingService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void unchangedProfileIsServedFromTheCache() throws Exception {
+        Employee employee = createEmployee("pdf1");
+        double rendered = misses(PdfRenderingService.DocumentType.RESUME);
+
+        Path first = pdfRenderingService.getDocument(employee.getId(), PdfRenderingService.DocumentType.RESUME);
+        Path second = pdfRenderingService.getDocument(employee.getId(), PdfRenderingService.DocumentType.RESUME);
+
+        assertEquals(first, second);
+        assertEquals(rendered + 1, misses(PdfRenderingService.DocumentType.RESUME));
+        byte[] header = new byte[5];
+        System.arraycopy(Files.readAllBytes(first), 0, header, 0, 5);
+        assertEquals("%PDF-", new String(header, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void profileUpdateRendersANewFileAndRemovesTheOldOne() throws Exception {
+        Employee employee = createEmployee("pdf2");
+        Path before = pdfRenderingService.getDocument(employee.getId(), PdfRenderingService.DocumentType.ID_CARD);
+
+        Thread.sleep(5); // make sure updatedAt moves on
+        employee.setBloodGroup("AB-");
+        employeeRepository.saveAndFlush(employee);
+        Path after = pdfRenderingService.getDocument(employee.getId(), PdfRenderingService.DocumentType.ID_CARD);
+
+        assertNotEquals(before, after);
+        assertTrue(Files.size(after) > 0);
+        assertFalse(Files.exists(before));
+    }
+
+    @Test
+    void renderKeepsCachedFilesOfNewerProfileVersions() throws Exception {
+        Employee employee = createEmployee("pdf3");
+        Path cacheDirectory = pdfRenderingService.getDocument(employee.getId(), PdfRenderingService.DocumentType.RESUME)
+                .getParent();
+        Path older = Files.createFile(cacheDirectory.resolve("resume-v1-" + employee.getId() + "-1.pdf"));
+        Path newer = Files.createFile(cacheDirectory.resolve("resume-v1-" + employee.getId() + "-" + Long.MAX_VALUE + ".pdf"));
+        try {
+            Thread.sleep(5); // make sure updatedAt moves on
+            employee.setBloodGroup("O+");
+            employeeRepository.saveAndFlush(employee);
+            pdfRenderingService.getDocument(employee.getId(), PdfRenderingService.DocumentType.RESUME);
+
+            assertFalse(Files.exists(older));
+            assertTrue(Files.exists(newer), "a render of an older profile removed a newer file");
+        } finally {
+            Files.deleteIfExists(newer);
+        }
+    }
+
+    private double misses(PdfRenderingService.DocumentType type) {
+        return meterRegistry.counter("pdf.documents", "document", type.getFileName(), "result", "miss").count();
+    }
+
+    private Employee createEmployee(String name) {
+        Employee employee = fixtures.newEmployee(name + "@test.com");
+        employee.setContact("+1 555 0100");
+        employee.setSkills("Java, Spring Boot");
+        employee.setDateOfJoining(LocalDate.of(2023, 3, 1));
+        return employeeRepository.saveAndFlush(employee);
+    }
+}
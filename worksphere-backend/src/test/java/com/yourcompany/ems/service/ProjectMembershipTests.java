@@ -0,0 +1,177 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.dto.TeamMemberDto;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.Project;
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Membership changes must write only the affected join-table rows, never rewrite the collection.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class ProjectMembershipTests {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int sequence = 0;
+
+    @Test
+    void singleAssignAndRemoveDoNotRewriteTheTeam() {
+        Project project = seedProject(30);
+        Employee newcomer = createEmployee();
+        Long leaverId = project.getEmployees().get(0).getId();
+
+        Statistics statistics = resetStatistics();
+        projectService.assignEmployeeToProject(project.getId(), newcomer.getId());
+        projectService.assignEmployeeToProject(project.getId(), newcomer.getId()); // repeat is a no-op
+        projectService.removeEmployeeFromProject(project.getId(), leaverId);
+        entityManager.flush();
+
+        assertEquals(0, statistics.getCollectionRecreateCount() + statistics.getCollectionUpdateCount()
+                + statistics.getCollectionRemoveCount(), "project_employees was rewritten through the collection");
+        Set<Long> members = memberIds(project.getId());
+        assertEquals(30, members.size());
+        assertEquals(true, members.contains(newcomer.getId()));
+        assertEquals(false, members.contains(leaverId));
+    }
+
+    @Test
+    void batchUpdateChangesOnlyTheGivenMembers() {
+        Project project = seedProject(10);
+        List<Long> current = project.getEmployees().stream().map(Employee::getId).toList();
+        List<Long> joining = List.of(createEmployee().getId(), createEmployee().getId());
+
+        Map<String, Object> result = projectService.updateProjectMembers(project.getId(),
+                joining, List.of(current.get(0), current.get(1), current.get(2)));
+
+        assertEquals(2, result.get("assigned"));
+        assertEquals(3, result.get("unassigned"));
+        assertEquals(9, memberIds(project.getId()).size());
+    }
+
+    @Test
+    void batchUpdateWithUnknownEmployeeChangesNothing() {
+        Project project = seedProject(3);
+        Long removed = project.getEmployees().get(0).getId();
+
+        assertThrows(RuntimeException.class, () -> projectService.updateProjectMembers(project.getId(),
+                List.of(createEmployee().getId(), Long.MAX_VALUE), List.of(removed)));
+        assertEquals(3, memberIds(project.getId()).size());
+    }
+
+    @Test
+    void teamMembersComeFromOneQueryAndFollowMembershipChanges() {
+        Project first = seedProject(20);
+        Project second = seedProject(5);
+        Employee employee = first.getEmployees().get(0);
+        Long shared = first.getEmployees().get(1).getId();
+        projectService.assignEmployeeToProject(second.getId(), employee.getId());
+        projectService.assignEmployeeToProject(second.getId(), shared);
+
+        Statistics statistics = resetStatistics();
+        List<TeamMemberDto> team = employeeService.getTeamMembers(employee.getId());
+        assertEquals(1, statistics.getPrepareStatementCount(), "team members took more than one query");
+        assertEquals(24, team.size());
+        TeamMemberDto both = team.stream().filter(member -> member.getId().equals(shared)).findFirst().orElseThrow();
+        assertEquals(List.of(first.getId(), second.getId()), both.getSharedProjectIds());
+
+        statistics.clear();
+        employeeService.getTeamMembers(employee.getId());
+        assertEquals(0, statistics.getPrepareStatementCount(), "second read was not served from the cache");
+
+        employeeService.getTeamMembers(shared);
+        Employee newcomer = createEmployee();
+        projectService.assignEmployeeToProject(second.getId(), newcomer.getId());
+        projectService.removeEmployeeFromProject(first.getId(), employee.getId());
+        List<Long> ids = employeeService.getTeamMembers(employee.getId()).stream().map(TeamMemberDto::getId).toList();
+        assertEquals(7, ids.size());
+        assertEquals(true, ids.contains(newcomer.getId()));
+        TeamMemberDto leaver = employeeService.getTeamMembers(shared).stream()
+                .filter(member -> member.getId().equals(employee.getId())).findFirst().orElseThrow();
+        assertEquals(List.of(second.getId()), leaver.getSharedProjectIds());
+
+        // A colleague's profile change reaches every cached list that shows them
+        EmployeeDto renamed = employeeService.getEmployeeById(shared);
+        renamed.setFirstName("Renamed");
+        employeeService.updateEmployee(shared, renamed);
+        assertEquals("Renamed", employeeService.getTeamMembers(employee.getId()).stream()
+                .filter(member -> member.getId().equals(shared)).findFirst().orElseThrow().getFirstName());
+    }
+
+    private Statistics resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Set<Long> memberIds(Long projectId) {
+        entityManager.flush();
+        entityManager.clear();
+        return projectRepository.findById(projectId).orElseThrow().getEmployees().stream()
+                .map(Employee::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private Project seedProject(int members) {
+        Project project = new Project();
+        project.setName("Membership " + (++sequence));
+        project.setProjectCode("PRJ-M" + sequence);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            employees.add(createEmployee());
+        }
+        project.setEmployees(employees);
+        return projectRepository.save(project);
+    }
+
+    private Employee createEmployee() {
+        return employeeRepository.save(fixtures.newEmployee("member" + (++sequence) + "@test.com"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The index without a database: employees are added with {@link SkillIndexService#index}.
+ */
+class SkillIndexPostingsTests {
+
+    private SkillIndexService skillIndexService;
+
+    @BeforeEach
+    void setUp() {
+        skillIndexService = new SkillIndexService(null);
+    }
+
+    @Test
+    void weightsRankSkillsAboveCertificationsAboveEducation() {
+        index(1L, null, null, "Go course");
+        index(2L, "Go", null, null);
+        index(3L, null, "Go certified", null);
+        index(4L, "Go, Go", null, null); // repeated terms weigh more
+
+        assertEquals(List.of(4L, 2L, 3L, 1L), ids(skillIndexService.search("go", SkillIndexService.Mode.ALL, 10)));
+        assertEquals(List.of(4L, 2L), ids(skillIndexService.search("go", SkillIndexService.Mode.ALL, 2)));
+    }
+
+    @Test
+    void allIntersectsAndAnyUnitesTheTermBitmaps() {
+        for (long id = 1; id <= 9; id++) { // more documents than a fresh posting list holds
+            index(id, id % 2 == 0 ? "Kotlin, Ktor" : "Kotlin", null, null);
+        }
+
+        assertEquals(4, skillIndexService.search("kotlin ktor", SkillIndexService.Mode.ALL, 10).get("total"));
+        assertEquals(9, skillIndexService.search("kotlin ktor", SkillIndexService.Mode.ANY, 10).get("total"));
+        assertEquals(0, skillIndexService.search("kotlin scala", SkillIndexService.Mode.ALL, 10).get("total"));
+        assertEquals(9, skillIndexService.search("kotlin scala", SkillIndexService.Mode.ANY, 10).get("total"));
+        assertEquals(List.of(2L, 4L, 6L, 8L), ids(skillIndexService.search("ktor kotlin", SkillIndexService.Mode.ALL, 10)));
+    }
+
+    @Test
+    void tokensKeepLanguageSymbolsAndDropStopWords() {
+        index(1L, "C++, C# and .NET. Java.", null, null);
+
+        Map<String, Object> result = skillIndexService.search("c++ c# .net java", SkillIndexService.Mode.ALL, 5);
+        assertEquals(List.of("c++", "c#", ".net", "java"), result.get("terms"));
+        assertEquals(List.of(1L), ids(result));
+        assertThrows(RuntimeException.class, () -> skillIndexService.search("and of the", SkillIndexService.Mode.ANY, 5));
+    }
+
+    @Test
+    void reindexReplacesTermsAndRemovedDocumentsAreReused() {
+        index(1L, "Perl", null, null);
+        index(2L, "Perl", null, null);
+        index(1L, "Rust", null, null);
+        assertEquals(List.of(2L), ids(skillIndexService.search("perl", SkillIndexService.Mode.ALL, 5)));
+        assertEquals(List.of(1L), ids(skillIndexService.search("rust", SkillIndexService.Mode.ALL, 5)));
+
+        skillIndexService.remove(2L);
+        skillIndexService.remove(2L);
+        assertEquals(0, skillIndexService.search("perl", SkillIndexService.Mode.ANY, 5).get("total"));
+
+        index(3L, "Perl", null, null); // takes the freed document number
+        assertEquals(List.of(3L), ids(skillIndexService.search("perl", SkillIndexService.Mode.ALL, 5)));
+        assertEquals(List.of(1L, 3L), ids(skillIndexService.search("perl rust", SkillIndexService.Mode.ANY, 5)));
+    }
+
+    private void index(Long id, String skills, String certifications, String education) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeId("EMP" + id);
+        employee.setFirstName("Skill");
+        employee.setLastName(String.valueOf(id));
+        employee.setSkills(skills);
+        employee.setCertifications(certifications);
+        employee.setEducation(education);
+        skillIndexService.index(employee);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(Map<String, Object> response) {
+        return ((List<Map<String, Object>>) response.get("results")).stream()
+                .map(result -> (Long) result.get("id"))
+                .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The index lives outside the test transaction, so each test uses its own made-up skill names.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class SkillIndexServiceTests {
+
+    @Autowired
+    private SkillIndexService skillIndexService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Test
+    void allAndAnyQueriesAreRankedBySkillWeight() {
+        Long both = create("both", "Qava, Qpring Boot", null, null).getId();
+        Long skillOnly = create("skill", "Qava", null, null).getId();
+        Long educationOnly = create("education", null, null, "Qava course").getId();
+        Long certified = create("cert", "Qpring", "Qava Certified", null).getId();
+
+        Map<String, Object> all = skillIndexService.search("qava, QPRING", SkillIndexService.Mode.ALL, 10);
+        assertEquals(List.of("qava", "qpring"), all.get("terms"));
+        assertEquals(2, all.get("total"));
+        assertEquals(List.of(both, certified), ids(all));
+
+        Map<String, Object> any = skillIndexService.search("qava qpring", SkillIndexService.Mode.ANY, 3);
+        assertEquals(4, any.get("total"));
+        List<Long> ranked = ids(any);
+        assertEquals(3, ranked.size());
+        assertEquals(both, ranked.get(0));
+        assertEquals(false, ranked.contains(educationOnly), "education weighs least");
+        assertEquals(true, ranked.contains(skillOnly));
+    }
+
+    @Test
+    void updatesAndDeletesAreReflectedImmediately() {
+        EmployeeDto employee = create("mover", "Wcobol", null, null);
+        assertEquals(1, skillIndexService.search("wcobol", SkillIndexService.Mode.ALL, 5).get("total"));
+
+        employee.setSkills("Wrust, C++ and .NET.");
+        employeeService.updateEmployee(employee.getId(), employee);
+        assertEquals(0, skillIndexService.search("wcobol", SkillIndexService.Mode.ALL, 5).get("total"));
+        assertEquals(List.of(employee.getId()), ids(skillIndexService.search("wrust c++ .net", SkillIndexService.Mode.ALL, 5)));
+
+        employeeService.deleteEmployee(employee.getId());
+        assertEquals(0, skillIndexService.search("wrust", SkillIndexService.Mode.ANY, 5).get("total"));
+    }
+
+    @Test
+    void queryWithoutTermsIsRejected() {
+        assertThrows(RuntimeException.class, () -> skillIndexService.search(" , and ", SkillIndexService.Mode.ALL, 5));
+        assertThrows(RuntimeException.class, () -> SkillIndexService.Mode.from("some"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Long> ids(Map<String, Object> response) {
+        return ((List<Map<String, Object>>) response.get("results")).stream()
+                .map(result -> (Long) result.get("id"))
+                .toList();
+    }
+
+    private EmployeeDto create(String name, String skills, String certifications, String education) {
+        EmployeeDto dto = fixtures.newEmployeeDto(name + "@skills.test", null);
+        dto.setSkills(skills);
+        dto.setCertifications(certifications);
+        dto.setEducation(education);
+        return employeeService.createEmployee(dto);
+    }
+}
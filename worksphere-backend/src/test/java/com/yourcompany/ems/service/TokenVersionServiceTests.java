@@ -0,0 +1,60 @@
+package com.yourcompany.ems.service;
+
+import com.yourcompany.ems.repository.EmployeeRepository;
+import com.yourcompany.ems.support.EmployeeFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@Import(EmployeeFixtures.class)
+class TokenVersionServiceTests {
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFixtures fixtures;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void deletingAManagerRevokesTheTokensOfTheReportsDeletedWithThem() {
+        Long manager = fixtures.create("revoked.manager@tokens.test", null).getId();
+        Long lead = fixtures.create("revoked.lead@tokens.test", manager).getId();
+        Long member = fixtures.create("revoked.member@tokens.test", lead).getId();
+        List<Long> userIds = new ArrayList<>();
+        List<Integer> versions = new ArrayList<>();
+        for (Long id : List.of(manager, lead, member)) {
+            Long userId = employeeRepository.findById(id).orElseThrow().getUser().getId();
+            userIds.add(userId);
+            versions.add(tokenVersionService.currentVersion(userId));
+        }
+        entityManager.flush();
+        entityManager.clear(); // the cascade reads the reports from the database
+
+        employeeService.deleteEmployee(manager);
+
+        for (int i = 0; i < userIds.size(); i++) {
+            assertTrue(tokenVersionService.isRevoked(userIds.get(i), versions.get(i)), "user " + userIds.get(i));
+        }
+    }
+}
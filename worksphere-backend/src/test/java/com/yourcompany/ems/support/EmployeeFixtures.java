@@ -0,0 +1,90 @@
+package com.yourcompany.ems.support;
+
+import com.yourcompany.ems.dto.EmployeeDto;
+import com.yourcompany.ems.entity.Employee;
+import com.yourcompany.ems.entity.Role;
+import com.yourcompany.ems.entity.User;
+import com.yourcompany.ems.repository.RoleRepository;
+import com.yourcompany.ems.repository.UserRepository;
+import com.yourcompany.ems.service.EmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Employees for service tests. Add it with {@code @Import(EmployeeFixtures.class)}.
+ *
+ * {@link #newEmployee} saves the login user and returns an unsaved employee with every required
+ * field filled in; set what the test cares about, then save it with the repository.
+ * {@link #create} goes through {@link EmployeeService} instead, so the in-memory indexes see the
+ * employee too. Tests that commit remove their rows with {@link #removeCommitted}.
+ */
+@TestComponent
+public class EmployeeFixtures {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final EmployeeService employeeService;
+    private final JdbcTemplate jdbcTemplate;
+    private int sequence;
+
+    @Autowired
+    public EmployeeFixtures(UserRepository userRepository, RoleRepository roleRepository,
+                            EmployeeService employeeService, JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.employeeService = employeeService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Employee newEmployee(String email) {
+        return newEmployee(email, Role.RoleType.ROLE_EMPLOYEE);
+    }
+
+    public synchronized Employee newEmployee(String email, Role.RoleType roleType) {
+        User user = new User();
+        user.setUsername(email);
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.getRoles().add(roleRepository.findByName(roleType).orElseThrow());
+        user = userRepository.save(user);
+
+        Employee employee = new Employee();
+        employee.setUser(user);
+        employee.setEmployeeId(String.format("FIX%05d", ++sequence));
+        employee.setFirstName("Test");
+        employee.setLastName(email.substring(0, email.indexOf('@')));
+        employee.setEmail(email);
+        employee.setContact("");
+        return employee;
+    }
+
+    public EmployeeDto newEmployeeDto(String email, Long managerId) {
+        EmployeeDto dto = new EmployeeDto();
+        dto.setFirstName("Test");
+        dto.setLastName(email.substring(0, email.indexOf('@')));
+        dto.setEmail(email);
+        dto.setContact("");
+        dto.setManagerId(managerId);
+        return dto;
+    }
+
+    public EmployeeDto create(String email, Long managerId) {
+        return employeeService.createEmployee(newEmployeeDto(email, managerId));
+    }
+
+    /**
+     * Delete committed employees whose email ends with the domain, with their users, leave
+     * requests and balances.
+     */
+    public void removeCommitted(String emailDomain) {
+        String like = "%" + emailDomain;
+        String employees = "SELECT e.id FROM employees e WHERE e.email LIKE ?";
+        jdbcTemplate.update("DELETE FROM leave_balances WHERE employee_id IN (" + employees + ")", like);
+        jdbcTemplate.update("DELETE FROM leave_requests WHERE employee_id IN (" + employees + ")", like);
+        jdbcTemplate.update("UPDATE employees SET manager_id = NULL WHERE email LIKE ?", like);
+        jdbcTemplate.update("DELETE FROM employees WHERE email LIKE ?", like);
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)", like);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", like);
+    }
+}
@@ -0,0 +1,80 @@
+package com.yourcompany.ems.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTests {
+
+    private static final String SECRET = "worksphereSecretKey2024ForJWTTokenGenerationAndValidation";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(86400000L);
+        userDetails = User.withUsername("employee@worksphere.com")
+                .password("secret")
+                .authorities("ROLE_EMPLOYEE")
+                .build();
+    }
+
+    @Test
+    void verifiedTokenIsServedFromCache() {
+        String token = jwtUtil.generateToken(userDetails, 7L);
+
+        Claims first = jwtUtil.parseToken(token);
+        Claims second = jwtUtil.parseToken(token);
+
+        assertSame(first, second);
+        assertEquals("employee@worksphere.com", jwtUtil.extractUsername(token));
+        assertEquals(7L, jwtUtil.extractUserId(token));
+        assertTrue(jwtUtil.validateToken(token, userDetails));
+    }
+
+    @Test
+    void validateTokenRejectsOtherUser() {
+        String token = jwtUtil.generateToken(userDetails);
+        UserDetails other = User.withUsername("other@worksphere.com").password("secret").authorities("ROLE_EMPLOYEE").build();
+
+        assertFalse(jwtUtil.validateToken(token, other));
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenAfterOriginalWasCached() {
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.parseToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtUtil.parseToken(tampered));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = jwtUtil(-1000L).generateToken(userDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    private static JwtUtil jwtUtil(long expiration) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}